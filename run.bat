@@ -3,10 +3,22 @@ REM Usage:
 REM   run            -> launch JavaFX GUI
 REM   run api ...    -> run headless API (extra args passed to Maven)
 REM                     e.g. run api -Dexec.jvmArgs="-Ddays=20 -Dpest=0.25 -DtickMs=1000"
+REM   run server ... -> run the HTTP control server (e.g. -Dport=8080)
+REM   run host ...   -> run many isolated gardens in one JVM (e.g. -Dgardens=1000)
+REM   run generate ... -> write a synthetic garden (e.g. -Dplants=1000000 -Dout=garden.bin)
 
 IF /I "%1"=="api" (
   SHIFT
   mvn -q -Papi exec:java %*
+) ELSE IF /I "%1"=="server" (
+  SHIFT
+  mvn -q -Pserver exec:java %*
+) ELSE IF /I "%1"=="host" (
+  SHIFT
+  mvn -q -Phost exec:java %*
+) ELSE IF /I "%1"=="generate" (
+  SHIFT
+  mvn -q -Pgenerate exec:java %*
 ) ELSE (
   mvn -q -DskipTests javafx:run %*
 )
@@ -0,0 +1,66 @@
+package com.gardensim;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A subscriber's bounded queue of per-tick {@link DeltaBatch}es. The garden
+ * never blocks on a slow subscriber: when the queue is full the batch is
+ * dropped and the next one delivered is flagged {@link DeltaBatch#overflowed()},
+ * telling the subscriber to resync from {@link GardenController#snapshot()}.
+ */
+public class ChangeSubscription implements AutoCloseable {
+    private final BlockingQueue<DeltaBatch> queue;
+    private volatile boolean closed;
+    /** Set when a batch was dropped; cleared once the overflow flag got through. */
+    private boolean lost;
+    private long dropped;
+
+    ChangeSubscription(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    /** Called by the garden after each tick; never blocks. */
+    synchronized void offer(DeltaBatch batch) {
+        if (closed) return;
+        if (queue.offer(lost ? batch.withOverflow() : batch)) {
+            lost = false;
+        } else {
+            lost = true;
+            dropped++;
+        }
+    }
+
+    /** Next batch, or null if none is waiting. */
+    public DeltaBatch poll() {
+        return queue.poll();
+    }
+
+    /** Next batch, waiting up to the timeout; null if none arrived. */
+    public DeltaBatch poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+
+    /** Moves all waiting batches into {@code out}; returns how many. */
+    public int drainTo(Collection<? super DeltaBatch> out) {
+        return queue.drainTo(out);
+    }
+
+    /** Batches dropped so far because the queue was full. */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /** Stops delivery; the garden forgets the subscription on its next tick. */
+    @Override
+    public void close() {
+        closed = true;
+        queue.clear();
+    }
+}
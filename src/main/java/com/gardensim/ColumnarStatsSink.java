@@ -0,0 +1,80 @@
+package com.gardensim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Binary, column-major day-stats sink (little-endian).
+ *
+ * Layout:
+ *   header: int magic 'GST1', int columnCount, then per column: short length + UTF-8 name
+ *   blocks: int rowCount, then columnCount runs of rowCount ints (one run per column)
+ *
+ * Rows are buffered per column and written as one block every
+ * {@link #BLOCK_ROWS} days (and on flush/close).
+ */
+public class ColumnarStatsSink implements DayStatsSink {
+    public static final int MAGIC = 0x31545347; // "GST1" little-endian
+    public static final int BLOCK_ROWS = 4096;
+
+    private final FileChannel channel;
+    private final int[] row;
+    private final int[][] columns;
+    private final ByteBuffer block;
+    private int rows;
+
+    public ColumnarStatsSink(Path path, List<String> columnNames) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        int n = columnNames.size();
+        this.row = new int[n];
+        this.columns = new int[n][BLOCK_ROWS];
+        this.block = ByteBuffer.allocateDirect(Integer.BYTES * (1 + n * BLOCK_ROWS)).order(ByteOrder.LITTLE_ENDIAN);
+
+        int headerBytes = 2 * Integer.BYTES;
+        byte[][] names = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            names[i] = columnNames.get(i).getBytes(StandardCharsets.UTF_8);
+            headerBytes += Short.BYTES + names[i].length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(headerBytes).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(n);
+        for (byte[] name : names) header.putShort((short) name.length).put(name);
+        header.flip();
+        while (header.hasRemaining()) channel.write(header);
+    }
+
+    @Override
+    public void write(DayStats stats) throws IOException {
+        DayStatsSink.toRow(stats, row);
+        for (int c = 0; c < row.length; c++) {
+            columns[c][rows] = row[c];
+        }
+        if (++rows == BLOCK_ROWS) flush();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (rows == 0) return;
+        block.clear();
+        block.putInt(rows);
+        for (int[] column : columns) {
+            for (int r = 0; r < rows; r++) block.putInt(column[r]);
+        }
+        block.flip();
+        while (block.hasRemaining()) channel.write(block);
+        rows = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+}
@@ -0,0 +1,99 @@
+package com.gardensim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * CSV day-stats sink. Numbers are formatted straight into a direct buffer
+ * (no per-row strings) and the buffer is written out in 64 KiB blocks, or
+ * one row at a time when a row is bigger than that. Values equal to
+ * {@link DayStats#NONE} are written as empty fields; column names are
+ * quoted where CSV needs it.
+ */
+public class CsvStatsSink implements DayStatsSink {
+    private static final int BLOCK_BYTES = 64 * 1024;
+
+    /** Longest possible int plus separator ("-2147483648,"). */
+    private static final int MAX_FIELD_BYTES = 12;
+
+    private final FileChannel channel;
+    private final ByteBuffer buf;
+    private final int[] row;
+
+    public CsvStatsSink(Path path, List<String> columns) throws IOException {
+        this.row = new int[columns.size()];
+        // the longest row: every field at most MAX_FIELD_BYTES, the last one's separator being '\n'
+        long rowBytes = (long) row.length * MAX_FIELD_BYTES;
+        if (rowBytes > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many columns: " + row.length);
+        this.buf = ByteBuffer.allocateDirect(Math.max(BLOCK_BYTES, (int) rowBytes));
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        StringBuilder header = new StringBuilder();
+        for (String column : columns) {
+            if (header.length() > 0) header.append(',');
+            header.append(escape(column));
+        }
+        writeFully(ByteBuffer.wrap(header.append('\n').toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public void write(DayStats stats) throws IOException {
+        DayStatsSink.toRow(stats, row);
+        if (buf.remaining() < row.length * MAX_FIELD_BYTES) flush();
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) buf.put((byte) ',');
+            if (row[i] != DayStats.NONE) putInt(row[i]);
+        }
+        buf.put((byte) '\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        buf.flip();
+        writeFully(buf);
+        buf.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) channel.write(bytes);
+    }
+
+    /** Quotes a field containing a separator, quote or line break (RFC 4180). */
+    static String escape(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + field.replace("\"", "\"\"") + '"';
+            }
+        }
+        return field;
+    }
+
+    private void putInt(int v) {
+        if (v < 0) {
+            buf.put((byte) '-');
+            if (v == Integer.MIN_VALUE) { // cannot negate
+                putDigits(2147483648L);
+                return;
+            }
+            v = -v;
+        }
+        putDigits(v);
+    }
+
+    private void putDigits(long v) {
+        if (v >= 10) putDigits(v / 10);
+        buf.put((byte) ('0' + (int) (v % 10)));
+    }
+}
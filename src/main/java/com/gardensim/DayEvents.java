@@ -0,0 +1,110 @@
+package com.gardensim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything that happens to the garden in one simulated day, applied in a
+ * single fused pass by {@link GardenSimulatorAPI#applyDay(DayEvents)}.
+ * Mutable and meant to be reused: call {@link #reset(int)} before each day.
+ */
+public class DayEvents {
+    /** {@link #getPesticideDays()} when pesticide lasts the garden's default duration. */
+    public static final int GARDEN_DEFAULT_DAYS = -1;
+
+    private int day;
+    private boolean hasTemperature;
+    private int temperature;
+    private boolean hasRain;
+    private int rainfall;
+    private WeatherField temperatureField;
+    private WeatherField rainField;
+    private boolean pesticide;
+    private int pesticideDays = GARDEN_DEFAULT_DAYS;
+    private final List<String> parasites = new ArrayList<>(4);
+
+    /** Clears all events and starts the given day. */
+    public DayEvents reset(int day) {
+        this.day = day;
+        this.hasTemperature = false;
+        this.hasRain = false;
+        this.temperatureField = null;
+        this.rainField = null;
+        this.pesticide = false;
+        this.pesticideDays = GARDEN_DEFAULT_DAYS;
+        this.parasites.clear();
+        return this;
+    }
+
+    public DayEvents temperature(int temperatureF) {
+        this.hasTemperature = true;
+        this.temperature = temperatureF;
+        return this;
+    }
+
+    public DayEvents rain(int amount) {
+        this.hasRain = true;
+        this.rainfall = amount;
+        return this;
+    }
+
+    /** Per-cell temperature (°F) for the day; replaces a uniform temperature. */
+    public DayEvents temperatureField(WeatherField field) {
+        this.hasTemperature = true;
+        this.temperatureField = field;
+        return this;
+    }
+
+    /** Per-cell rainfall for the day; replaces a uniform rainfall. */
+    public DayEvents rainField(WeatherField field) {
+        this.hasRain = true;
+        this.rainField = field;
+        return this;
+    }
+
+    /** Applies pesticide before the day's parasite attacks, for the garden's default duration. */
+    public DayEvents pesticide() {
+        this.pesticide = true;
+        return this;
+    }
+
+    /** Applies pesticide that protects for {@code days} days (including today); 0 = never expires. */
+    public DayEvents pesticide(int days) {
+        this.pesticide = true;
+        this.pesticideDays = days <= 0 || pesticideDays == 0 ? 0 : Math.max(pesticideDays, days);
+        return this;
+    }
+
+    public DayEvents parasite(String name) {
+        parasites.add(name);
+        return this;
+    }
+
+    /** True if nothing happens on this day. */
+    public boolean isEmpty() {
+        return !hasTemperature && !hasRain && !pesticide && parasites.isEmpty();
+    }
+
+    public int getDay() { return day; }
+    public boolean hasTemperature() { return hasTemperature; }
+    public int getTemperature() { return temperature; }
+    public boolean hasRain() { return hasRain; }
+    public int getRainfall() { return rainfall; }
+    public WeatherField getTemperatureField() { return temperatureField; }
+    public WeatherField getRainField() { return rainField; }
+    public boolean hasPesticide() { return pesticide; }
+    /** Pesticide duration in days (0 = never expires), or {@link #GARDEN_DEFAULT_DAYS}. */
+    public int getPesticideDays() { return pesticideDays; }
+    public List<String> getParasites() { return parasites; }
+
+    @Override
+    public String toString() {
+        return "DayEvents{" +
+                "day=" + day +
+                ", temperature=" + (temperatureField != null ? temperatureField : hasTemperature ? temperature : "-") +
+                ", rainfall=" + (rainField != null ? rainField : hasRain ? rainfall : "-") +
+                ", pesticide=" + pesticide +
+                ", parasites=" + parasites +
+                '}';
+    }
+}
@@ -0,0 +1,61 @@
+package com.gardensim;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Statistics of one simulated day, filled by the fused day pass and
+ * streamed to a {@link DayStatsSink}. Reused from day to day.
+ */
+public class DayStats {
+    /** Marks a value that did not occur that day (e.g. no temperature event). */
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private final List<String> species;
+
+    int day;
+    int temperature = NONE;
+    int rainfall;
+    int pestPressure;
+    long pestPopulation;
+    final int[] alive;
+    final int[] deaths = new int[DeathCause.values().length];
+
+    public DayStats(List<String> species) {
+        this.species = List.copyOf(species);
+        this.alive = new int[species.size()];
+    }
+
+    void reset(int day) {
+        this.day = day;
+        this.temperature = NONE;
+        this.rainfall = 0;
+        this.pestPressure = 0;
+        this.pestPopulation = 0;
+        Arrays.fill(alive, 0);
+        Arrays.fill(deaths, 0);
+    }
+
+    /** Species names, in the order of {@link #getAlive(int)}. */
+    public List<String> getSpecies() { return species; }
+
+    public int getDay() { return day; }
+
+    /** Effective temperature (°F) applied that day, or {@link #NONE}. */
+    public int getTemperature() { return temperature; }
+
+    /** Rainfall units that day (0 = no rain). */
+    public int getRainfall() { return rainfall; }
+
+    /** Unprotected vulnerable plants that parasites went after that day. */
+    public int getPestPressure() { return pestPressure; }
+
+    /** Total pests on the grid after the day's spread step (0 when pest spread is off). */
+    public long getPestPopulation() { return pestPopulation; }
+
+    /** Alive plants of the given species at the end of the day. */
+    public int getAlive(int speciesIndex) { return alive[speciesIndex]; }
+
+    /** Plants that died of the given cause that day. */
+    public int getDeaths(DeathCause cause) { return deaths[cause.ordinal()]; }
+}
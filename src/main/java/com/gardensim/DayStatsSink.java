@@ -0,0 +1,64 @@
+package com.gardensim;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams one row per simulated day to a file, without keeping history in memory.
+ * Implementations buffer rows and write them in blocks through a FileChannel.
+ */
+public interface DayStatsSink extends Closeable {
+
+    /** Appends one day. */
+    void write(DayStats stats) throws IOException;
+
+    /** Writes buffered rows to the channel. */
+    void flush() throws IOException;
+
+    /**
+     * Opens a sink for the given file.
+     *
+     * @param path    output file (truncated)
+     * @param format  "csv" or "bin"; null picks by extension (".csv" -> csv, otherwise bin)
+     * @param species species names, fixing the alive-per-species columns
+     */
+    static DayStatsSink open(Path path, String format, List<String> species) throws IOException {
+        if (format == null || format.isBlank()) {
+            format = path.toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? "csv" : "bin";
+        }
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv" -> new CsvStatsSink(path, columns(species));
+            case "bin" -> new ColumnarStatsSink(path, columns(species));
+            default -> throw new IllegalArgumentException("Unknown stats format: " + format);
+        };
+    }
+
+    /** Column names shared by all formats, in row order. */
+    static List<String> columns(List<String> species) {
+        List<String> cols = new ArrayList<>();
+        cols.add("day");
+        cols.add("temperature");
+        cols.add("rainfall");
+        for (String s : species) cols.add("alive_" + s);
+        for (DeathCause c : DeathCause.values()) cols.add("deaths_" + c.name().toLowerCase(Locale.ROOT));
+        cols.add("pest_pressure");
+        cols.add("pest_population");
+        return cols;
+    }
+
+    /** Copies a day into {@code row} in {@link #columns} order. */
+    static void toRow(DayStats s, int[] row) {
+        int i = 0;
+        row[i++] = s.getDay();
+        row[i++] = s.getTemperature();
+        row[i++] = s.getRainfall();
+        for (int k = 0; k < s.alive.length; k++) row[i++] = s.alive[k];
+        for (int k = 0; k < s.deaths.length; k++) row[i++] = s.deaths[k];
+        row[i++] = s.getPestPressure();
+        row[i] = (int) Math.min(Integer.MAX_VALUE, s.getPestPopulation());
+    }
+}
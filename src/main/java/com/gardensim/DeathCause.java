@@ -0,0 +1,15 @@
+package com.gardensim;
+
+/**
+ * Reasons a plant can die in the simulation.
+ */
+public enum DeathCause {
+    /** Over-watered (water level above 2x requirement). */
+    WATER,
+    /** Extreme temperature (below 40 or above 120 °F). */
+    TEMPERATURE,
+    /** Killed by a parasite it is vulnerable to. */
+    PEST,
+    /** Dry for longer than it tolerates (only with evaporation on). */
+    DROUGHT
+}
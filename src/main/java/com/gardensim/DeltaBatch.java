@@ -0,0 +1,22 @@
+package com.gardensim;
+
+/**
+ * The plant changes of one tick, as {@link PlantDelta} longs grouped by
+ * shard (row band, top to bottom). Within a shard, pesticide expiries
+ * (UNPROTECTED) come first, then the tick's changes in the shard's plant
+ * order, so the array is not sorted by plant index. A plant may appear
+ * twice (e.g. unprotected then protected again); apply in array order.
+ * The array is shared by all subscribers and must not be modified.
+ *
+ * @param day        simulated day of the tick
+ * @param version    garden version after the tick (see {@link GardenController#getVersion()})
+ * @param deltas     changed plants
+ * @param overflowed true if earlier batches were dropped because this
+ *                   subscriber fell behind, or if the garden changed without
+ *                   tracking deltas (single-event paths); resync from a snapshot
+ */
+public record DeltaBatch(int day, long version, long[] deltas, boolean overflowed) {
+    DeltaBatch withOverflow() {
+        return new DeltaBatch(day, version, deltas, true);
+    }
+}
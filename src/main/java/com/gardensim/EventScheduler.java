@@ -0,0 +1,189 @@
+package com.gardensim;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Discrete-event engine for headless runs: timestamped events (rain spells,
+ * heatwaves, pesticide applications, pest arrivals) wait in a
+ * priority queue and the clock jumps straight to the next one, so sparse
+ * scenarios cost time per event instead of per simulated day.
+ *
+ * Events can be scheduled explicitly or generated as recurring random
+ * processes ({@link #rainEvery}, {@link #heatwaveEvery}, ...). A recurring
+ * event schedules its next occurrence when it fires, with an exponentially
+ * distributed gap, so the queue stays small however long the horizon is.
+ */
+public class EventScheduler {
+    private static final Logger log = LogManager.getLogger(EventScheduler.class);
+
+    public enum Kind { RAIN, HEATWAVE_START, HEATWAVE_END, PESTICIDE, PEST_ARRIVAL }
+
+    /**
+     * One scheduled event.
+     *
+     * @param value    rain per day, temperature (°F) or pesticide duration, by kind
+     * @param duration days a rain spell or heatwave lasts
+     * @param meanGap  mean days until the next occurrence (0 = one-off)
+     */
+    public record Event(int day, long seq, Kind kind, int value, int duration, String parasite, double meanGap)
+            implements Comparable<Event> {
+        @Override
+        public int compareTo(Event o) {
+            int c = Integer.compare(day, o.day);
+            return c != 0 ? c : Long.compare(seq, o.seq);
+        }
+    }
+
+    private final PriorityQueue<Event> queue = new PriorityQueue<>();
+    private final Random rng;
+    private final List<String> parasitePool;
+    private long nextSeq;
+
+    /** Current simulated day (the day of the last processed event). */
+    private int clock;
+    /** Temperature a heatwave falls back to when it ends. */
+    private int baseTemperature = 70;
+    /** Heatwaves started and not yet ended; the base temperature returns when the last one ends. */
+    private int activeHeatwaves;
+
+    public EventScheduler(Random rng, List<String> parasitePool) {
+        this.rng = rng;
+        this.parasitePool = parasitePool;
+    }
+
+    public EventScheduler baseTemperature(int temperatureF) { this.baseTemperature = temperatureF; return this; }
+
+    public int getClock() { return clock; }
+    public int pending() { return queue.size(); }
+
+    // ----- One-off events -----
+
+    /** Rain of {@code amount} per day for {@code days} days from {@code day}. */
+    public EventScheduler rainSpell(int day, int amount, int days) {
+        return schedule(day, Kind.RAIN, amount, Math.max(1, days), null, 0);
+    }
+
+    /** Temperature {@code temperatureF} for {@code days} days, then back to the base temperature. */
+    public EventScheduler heatwave(int day, int temperatureF, int days) {
+        return schedule(day, Kind.HEATWAVE_START, temperatureF, Math.max(1, days), null, 0);
+    }
+
+    /** Pesticide applied on {@code day}, protecting plants for {@code days} days (0 = never expires). */
+    public EventScheduler pesticide(int day, int days) {
+        return schedule(day, Kind.PESTICIDE, Math.max(0, days), 0, null, 0);
+    }
+
+    public EventScheduler pestArrival(int day, String parasite) {
+        return schedule(day, Kind.PEST_ARRIVAL, 0, 0, parasite, 0);
+    }
+
+    // ----- Recurring random processes (first occurrence after one random gap) -----
+
+    /** Rain spells of 1-5 days with 1-5 units a day, on average every {@code meanDays} days. */
+    public EventScheduler rainEvery(double meanDays) {
+        return schedule(clock + gap(meanDays), Kind.RAIN, 0, 0, null, meanDays);
+    }
+
+    /** Heatwaves of 2-7 days at 95-110 °F, on average every {@code meanDays} days. */
+    public EventScheduler heatwaveEvery(double meanDays) {
+        return schedule(clock + gap(meanDays), Kind.HEATWAVE_START, 0, 0, null, meanDays);
+    }
+
+    /** Pesticide lasting {@code durationDays} (0 = never expires), applied on average every {@code meanDays} days. */
+    public EventScheduler pesticideEvery(double meanDays, int durationDays) {
+        return schedule(clock + gap(meanDays), Kind.PESTICIDE, Math.max(0, durationDays), 0, null, meanDays);
+    }
+
+    /** Arrivals of random parasites from the pool, on average every {@code meanDays} days. */
+    public EventScheduler pestsEvery(double meanDays) {
+        if (parasitePool.isEmpty()) return this;
+        return schedule(clock + gap(meanDays), Kind.PEST_ARRIVAL, 0, 0, null, meanDays);
+    }
+
+    private EventScheduler schedule(long day, Kind kind, int value, int duration, String parasite, double meanGap) {
+        int at = (int) Math.min(Integer.MAX_VALUE, Math.max(day, clock));
+        queue.add(new Event(at, nextSeq++, kind, value, duration, parasite, meanGap));
+        return this;
+    }
+
+    /** Exponentially distributed gap in whole days, at least one. */
+    private long gap(double meanDays) {
+        if (!(meanDays > 0)) return Integer.MAX_VALUE;
+        return 1 + (long) Math.min(Integer.MAX_VALUE, -Math.log(1 - rng.nextDouble()) * meanDays);
+    }
+
+    // ----- Engine -----
+
+    /**
+     * Processes events in time order up to and including {@code horizon},
+     * applying all events of a day as one tick and skipping days without any.
+     *
+     * @return number of days on which something happened
+     */
+    public int run(GardenSimulatorAPI api, int horizon) {
+        DayEvents today = new DayEvents();
+        int activeDays = 0;
+        long events = 0;
+        long start = System.nanoTime();
+
+        while (!queue.isEmpty() && queue.peek().day() <= horizon) {
+            int day = queue.peek().day();
+            clock = day;
+            today.reset(day);
+
+            while (!queue.isEmpty() && queue.peek().day() == day) {
+                fire(queue.poll(), today);
+                events++;
+            }
+
+            if (!today.isEmpty()) {
+                api.applyDay(today);
+                activeDays++;
+            }
+        }
+        clock = Math.max(clock, horizon);
+
+        log.info("Event engine: {} event(s) on {} active day(s) of {} simulated, in {} ms.",
+                events, activeDays, horizon, (System.nanoTime() - start) / 1_000_000);
+        return activeDays;
+    }
+
+    /** Adds one event to the day being built and schedules its follow-ups. */
+    private void fire(Event e, DayEvents today) {
+        boolean recurring = e.meanGap() > 0;
+        switch (e.kind()) {
+            case RAIN -> {
+                int amount = recurring ? 1 + rng.nextInt(5) : e.value();
+                int days = recurring ? 1 + rng.nextInt(5) : e.duration();
+                today.rain(today.hasRain() ? today.getRainfall() + amount : amount);
+                if (days > 1) schedule(e.day() + 1L, Kind.RAIN, amount, days - 1, null, 0);
+                if (recurring) schedule(e.day() + (long) days - 1 + gap(e.meanGap()), Kind.RAIN, 0, 0, null, e.meanGap());
+            }
+            case HEATWAVE_START -> {
+                int temperature = recurring ? 95 + rng.nextInt(16) : e.value();
+                int days = recurring ? 2 + rng.nextInt(6) : e.duration();
+                today.temperature(temperature);
+                activeHeatwaves++;
+                schedule(e.day() + (long) days, Kind.HEATWAVE_END, baseTemperature, 0, null, 0);
+                if (recurring) schedule(e.day() + (long) days + gap(e.meanGap()), Kind.HEATWAVE_START, 0, 0, null, e.meanGap());
+            }
+            case HEATWAVE_END -> {
+                if (--activeHeatwaves == 0 && !today.hasTemperature()) today.temperature(e.value());
+            }
+            case PESTICIDE -> {
+                // expiry is tracked per plant by the garden (see GardenController)
+                today.pesticide(e.value());
+                if (recurring) schedule(e.day() + gap(e.meanGap()), Kind.PESTICIDE, e.value(), 0, null, e.meanGap());
+            }
+            case PEST_ARRIVAL -> {
+                today.parasite(recurring ? parasitePool.get(rng.nextInt(parasitePool.size())) : e.parasite());
+                if (recurring) schedule(e.day() + gap(e.meanGap()), Kind.PEST_ARRIVAL, 0, 0, null, e.meanGap());
+            }
+        }
+    }
+}
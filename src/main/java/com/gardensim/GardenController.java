@@ -2,14 +2,44 @@ package com.gardensim;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
 
+import jdk.jfr.EventType;
+
+/**
+ * Runs the simulation over a garden's plants.
+ *
+ * The garden is split into {@link GardenShard}s (bands of grid rows), each
+ * guarded by its own lock. Garden-wide passes fan out to all shards in
+ * parallel; region events lock only the shards they touch, so events on
+ * disjoint regions run concurrently.
+ */
 public class GardenController {
-    @SuppressWarnings("unused")
     private static final Logger log = LogManager.getLogger(GardenController.class);
+    private static final DeathCause[] CAUSES = DeathCause.values();
+    /** Checked before creating a DayTick, so ticks allocate no event object while JFR is off. */
+    private static final EventType DAY_TICK = EventType.getEventType(PhaseEvents.DayTick.class);
+    private static final EventType TEMPERATURE_PHASE = EventType.getEventType(PhaseEvents.Temperature.class);
+    private static final EventType RAIN_PHASE = EventType.getEventType(PhaseEvents.Rain.class);
+    private static final EventType PEST_ATTACK_PHASE = EventType.getEventType(PhaseEvents.PestAttack.class);
+    private static final EventType PESTICIDE_PHASE = EventType.getEventType(PhaseEvents.Pesticide.class);
+
+    private static final long[] NO_DELTAS = new long[0];
+
+    /** Below this many plants per shard, extra shards cost more than they save. */
+    private static final int MIN_PLANTS_PER_SHARD = 4096;
 
     private List<Plant> plants;
     private RainController rainController;
@@ -17,23 +47,451 @@ public class GardenController {
     private PestAttackController pestAttackController;
     private PesticideController pesticideController;
     private Random random = new Random();
+    private final GardenMetrics metrics;
+
+    /** Start of the current day tick (System.nanoTime), or 0 outside a day. */
+    private volatile long dayStartNanos;
+
+    /** JFR event spanning the current day, and the alive count when it began. */
+    private volatile PhaseEvents.DayTick dayEvent;
+    private volatile int aliveAtDayStart;
+
+    /** Reusable plan for fused passes; guarded by this controller's monitor. */
+    private final FusedPass pass = new FusedPass();
+
+    /** Sprinkler amount (average water requirement), computed once per garden. */
+    private int averageWaterRequirement;
+
+    /** Species (plant names) in first-seen order, and each plant's index into it. */
+    private final List<String> species = new ArrayList<>();
+    private final int[] speciesOf;
+
+    /** Grid spanned by the plants, and each plant's row-major cell index in it. */
+    private final int gridRows;
+    private final int gridCols;
+    private final int[] cellOf;
+
+    /** Optional pest diffusion over the grid (see {@link #enablePestSpread}); null when off. */
+    private PestSpreadModel pestSpread;
+
+    /** Pests that arrive with each parasite event when pest spread is on. */
+    private static final int PEST_ARRIVAL_SIZE = 100;
+
+    /** Statistics of the last day applied with {@link #applyDay}. */
+    private final DayStats dayStats;
+
+    /** Row-band shards (lock stripes), the pool they fan out on, and reusable fan-out tasks. */
+    private final GardenShard[] shards;
+    private final ForkJoinPool pool;
+    private final ShardTask[] shardTasks;
+    private final FanOut fanOut = new FanOut();
+
+    /** Default days a pesticide application protects a plant. */
+    static final int DEFAULT_PESTICIDE_DAYS = 7;
+
+    /** Simulated day of the current (or last) pass; drives pesticide expiry. */
+    private int today;
+    /** Days pesticide protects for unless a day says otherwise; 0 = forever. */
+    private int pesticideDays = DEFAULT_PESTICIDE_DAYS;
+    /** Bumped after every change to plant state; status snapshots are cached per version. */
+    private final AtomicLong version = new AtomicLong();
+    private volatile GardenSnapshot snapshot;
+
+    /** Change subscribers (see {@link #subscribe}); deltas are only collected while there are any. */
+    private final List<ChangeSubscription> subscribers = new CopyOnWriteArrayList<>();
+
+    /** Whether plants lose water between days (see {@link Plant#settle}). */
+    private boolean evaporation;
 
     public GardenController(List<Plant> plants) {
+        this(plants, GardenMetrics.shared());
+    }
+
+    public GardenController(List<Plant> plants, GardenMetrics metrics) {
+        this(plants, metrics, 0, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param plants  the garden's plants (not copied; must not change size afterwards)
+     * @param metrics where to record runtime metrics
+     * @param shards  number of row-band shards; 0 picks one per core for large gardens
+     * @param pool    pool garden-wide passes (and pest spread) fan out on
+     */
+    public GardenController(List<Plant> plants, GardenMetrics metrics, int shards, ForkJoinPool pool) {
         this.plants = plants;
-        this.rainController = new RainController();
-        this.temperatureController = new TemperatureController();
-        this.pestAttackController = new PestAttackController();
-        this.pesticideController = new PesticideController();
+        this.pool = pool;
+        this.metrics = metrics;
+        this.rainController = new RainController(metrics);
+        this.temperatureController = new TemperatureController(metrics);
+        this.pestAttackController = new PestAttackController(metrics);
+        this.pesticideController = new PesticideController(metrics);
+
+        Map<String, Integer> index = new HashMap<>();
+        this.speciesOf = new int[plants.size()];
+        for (int i = 0; i < plants.size(); i++) {
+            String name = plants.get(i).getName();
+            Integer idx = index.get(name);
+            if (idx == null) {
+                idx = species.size();
+                index.put(name, idx);
+                species.add(name);
+            }
+            speciesOf[i] = idx;
+        }
+        this.dayStats = new DayStats(species);
+
+        int maxRow = 0, maxCol = 0;
+        for (Plant plant : plants) {
+            maxRow = Math.max(maxRow, plant.getRow());
+            maxCol = Math.max(maxCol, plant.getCol());
+        }
+        this.gridRows = maxRow + 1;
+        this.gridCols = maxCol + 1;
+        this.cellOf = new int[plants.size()];
+        for (int i = 0; i < plants.size(); i++) {
+            Plant plant = plants.get(i);
+            cellOf[i] = Math.max(0, plant.getRow()) * gridCols + Math.max(0, plant.getCol());
+        }
+
+        this.shards = buildShards(shards > 0 ? shards
+                : Math.min(pool.getParallelism(), plants.size() / MIN_PLANTS_PER_SHARD));
+        this.shardTasks = new ShardTask[this.shards.length];
+        for (int s = 0; s < this.shards.length; s++) {
+            GardenShard shard = this.shards[s];
+            shardTasks[s] = new ShardTask(shard);
+            shard.onExpire = (idx, deadline) -> {
+                if (expirePesticide(idx, deadline) && pass.trackChanges) shard.addDelta(idx, PlantDelta.UNPROTECTED);
+            };
+        }
+        this.averageWaterRequirement = new SprinklerController(metrics).calculateAverageWaterRequirement(plants);
+    }
+
+    /** Splits the grid rows into {@code count} bands and buckets the plants by row. */
+    private GardenShard[] buildShards(int count) {
+        count = Math.max(1, Math.min(count, gridRows));
+        int[] shardOfRow = new int[gridRows];
+        int[] sizes = new int[count];
+        for (int s = 0; s < count; s++) {
+            int from = (int) ((long) s * gridRows / count);
+            int to = (int) ((long) (s + 1) * gridRows / count);
+            Arrays.fill(shardOfRow, from, to, s);
+        }
+        for (Plant plant : plants) sizes[shardOfRow[Math.max(0, plant.getRow())]]++;
+
+        int[][] members = new int[count][];
+        for (int s = 0; s < count; s++) members[s] = new int[sizes[s]];
+        int[] fill = new int[count];
+        for (int i = 0; i < plants.size(); i++) {
+            int s = shardOfRow[Math.max(0, plants.get(i).getRow())];
+            members[s][fill[s]++] = i;
+        }
+
+        GardenShard[] result = new GardenShard[count];
+        for (int s = 0; s < count; s++) {
+            int from = (int) ((long) s * gridRows / count);
+            int to = (int) ((long) (s + 1) * gridRows / count);
+            result[s] = new GardenShard(s, from, to, members[s], species.size(),
+                    new PestAttackController(metrics, new Random()));
+        }
+        return result;
+    }
+
+    /**
+     * Reseeds all randomness (pesticide coin flips, per-shard attack outcomes),
+     * making runs with the same seed and events reproducible.
+     */
+    synchronized void setSeed(long seed) {
+        random = new Random(seed);
+        for (GardenShard shard : shards) {
+            shard.attacker = new PestAttackController(metrics, GardenShard.random(seed, shard.index));
+        }
+        // the legacy per-event attack path (simulatePestAttack) draws from its own stream
+        pestAttackController = new PestAttackController(metrics, GardenShard.random(seed, -1));
+    }
+
+    /** Number of row-band shards (lock stripes). */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Turns on the pest diffusion model: parasite events drop pests into a
+     * seeded random cell, populations spread each tick, and every plant's
+     * numPests follows its cell's population. The model steps on the same
+     * pool as the garden's passes.
+     */
+    synchronized void enablePestSpread(long seed) {
+        pestSpread = new PestSpreadModel(gridRows, gridCols, seed, pool);
+    }
+
+    /**
+     * Turns on evaporation: each plant's water level is brought up to date
+     * lazily, in closed form, whenever a pass touches it, so days without
+     * events cost nothing and no extra garden-wide pass is needed.
+     */
+    synchronized void enableEvaporation() {
+        evaporation = true;
+    }
+
+    /** Sets how many days a pesticide application protects for (0 = forever, the GUI behaviour). */
+    synchronized void setPesticideDays(int days) {
+        this.pesticideDays = Math.max(0, days);
+    }
+
+    /**
+     * Applies changed species definitions in place, between ticks: plants of
+     * a species whose water requirement or parasites differ from the
+     * definition get the new values (one shared parasite list per species)
+     * and keep all their state; the sprinkler average is recomputed. Species
+     * this garden does not have are ignored.
+     *
+     * @return number of plants updated
+     */
+    synchronized int updateSpecies(Collection<SpeciesDefinition> definitions) {
+        Map<String, SpeciesDefinition> byName = new HashMap<>();
+        for (SpeciesDefinition d : definitions) byName.putIfAbsent(d.name(), d);
+
+        int updated = 0;
+        lockAll();
+        try {
+            // Compare against the first plant of each species, then rewrite only the changed species.
+            SpeciesDefinition[] changed = new SpeciesDefinition[species.size()];
+            boolean[] seen = new boolean[species.size()];
+            boolean any = false;
+            for (int i = 0; i < plants.size(); i++) {
+                int s = speciesOf[i];
+                if (seen[s]) continue;
+                seen[s] = true;
+                SpeciesDefinition d = byName.get(species.get(s));
+                Plant plant = plants.get(i);
+                if (d != null && (d.waterRequirement() != plant.getWaterRequirement()
+                        || !d.parasites().equals(plant.getParasites()))) {
+                    changed[s] = d;
+                    any = true;
+                    log.info("Species {} changed: waterRequirement {} -> {}, parasites {} -> {}", d.name(),
+                            plant.getWaterRequirement(), d.waterRequirement(), plant.getParasites(), d.parasites());
+                }
+            }
+            if (!any) return 0;
+
+            for (int i = 0; i < plants.size(); i++) {
+                SpeciesDefinition d = changed[speciesOf[i]];
+                if (d == null) continue;
+                Plant plant = plants.get(i);
+                // Evaporation so far ran at the old requirement's rate; settle it before the rate changes.
+                if (evaporation && plant.settle(today)) metrics.recordDeath(DeathCause.DROUGHT);
+                plant.setWaterRequirement(d.waterRequirement());
+                plant.setParasites(d.parasites());
+                updated++;
+            }
+            averageWaterRequirement = new SprinklerController(metrics).calculateAverageWaterRequirement(plants);
+        } finally {
+            unlockAll();
+        }
+        publishResync(version.incrementAndGet());
+        return updated;
+    }
+
+    /** Last day protected by pesticide applied today for {@code days} days (0 = no expiry). */
+    private int protectedUntil(int days) {
+        return days <= 0 ? Integer.MAX_VALUE : (int) Math.min(Integer.MAX_VALUE - 1, (long) today + days - 1);
+    }
+
+    /** Protects a plant and schedules the expiry in its shard's wheel; caller holds the shard lock. */
+    private void protect(GardenShard shard, int idx, Plant plant, int until) {
+        if (pesticideController.protectUntil(plant, until)) {
+            shard.protectedCount++;
+            if (until != Integer.MAX_VALUE) shard.pesticideExpiries.schedule(idx, until + 1);
+        }
+    }
+
+    /**
+     * Wheel callback: ends a protection unless it was renewed since (lazy cancel).
+     *
+     * @return true if the plant lost its protection
+     */
+    private boolean expirePesticide(int idx, int deadline) {
+        Plant plant = plants.get(idx);
+        if (plant.isPesticideApplied() && plant.getPesticideUntil() == deadline - 1) {
+            plant.setPesticideApplied(false);
+            plant.setPesticideUntil(Integer.MAX_VALUE);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Subscribes to per-tick changes: after every day pass, batch or region
+     * event the subscription receives one {@link DeltaBatch} listing only
+     * the plants that died, were watered past their requirement, or gained
+     * or lost pesticide protection. At most {@code capacity} batches wait
+     * unread; beyond that batches are dropped and the next one is flagged
+     * as overflowed. Close the subscription to stop.
+     *
+     * The single-event paths ({@code simulateRain}, {@code simulateTemperature},
+     * {@code simulatePestAttack}, behind the API's rain/temperature/parasites)
+     * and {@link #updateSpecies} do not track changes: each delivers an
+     * empty batch flagged as overflowed, so subscribers resync from
+     * {@link #snapshot()}.
+     */
+    public ChangeSubscription subscribe(int capacity) {
+        ChangeSubscription sub = new ChangeSubscription(capacity);
+        subscribers.add(sub);
+        return sub;
+    }
+
+    /** Delivers one batch to every open subscription, forgetting closed ones. */
+    private void deliver(DeltaBatch batch) {
+        for (ChangeSubscription sub : subscribers) {
+            if (sub.isClosed()) subscribers.remove(sub);
+            else sub.offer(batch);
+        }
+    }
+
+    /** Tells subscribers to resync after a change made without delta tracking. */
+    private void publishResync(long version) {
+        if (!subscribers.isEmpty()) deliver(new DeltaBatch(today, version, NO_DELTAS, true));
+    }
+
+    /** Publishes the deltas the shards collected during the last pass. */
+    private void publish(long version) {
+        if (!pass.trackChanges) return;
+        int total = 0;
+        for (GardenShard shard : shards) total += shard.deltaCount;
+        long[] deltas = new long[total];
+        int at = 0;
+        for (GardenShard shard : shards) {
+            System.arraycopy(shard.deltas, 0, deltas, at, shard.deltaCount);
+            at += shard.deltaCount;
+        }
+        deliver(new DeltaBatch(today, version, deltas, false));
+    }
+
+    /** Change flags of a plant given its state before an update. */
+    private static int changes(Plant plant, boolean wasAlive, int waterBefore, boolean wasProtected) {
+        int flags = 0;
+        if (wasAlive && !plant.isAlive()) flags |= PlantDelta.DIED;
+        int requirement = plant.getWaterRequirement();
+        if (waterBefore <= requirement && plant.getCurrentWaterLevel() > requirement) flags |= PlantDelta.WATERED;
+        if (!wasProtected && plant.isPesticideApplied()) flags |= PlantDelta.PROTECTED;
+        return flags;
+    }
+
+    PestSpreadModel getPestSpread() {
+        return pestSpread;
+    }
+
+    public int getGridRows() {
+        return gridRows;
+    }
+
+    public int getGridCols() {
+        return gridCols;
+    }
+
+    /** Receives one plant's primitive state; called from several threads at once. */
+    @FunctionalInterface
+    public interface PlantStateVisitor {
+        void plant(int row, int col, boolean alive, int water, int temperature, int pests);
+    }
+
+    /**
+     * Hands every plant's state to {@code visitor} (e.g. a heatmap renderer).
+     * Shards are visited in parallel on {@code pool}, each under its own lock,
+     * so ticks on other shards are not held up.
+     */
+    void visitPlants(ForkJoinPool pool, PlantStateVisitor visitor) {
+        pool.submit(() -> Arrays.stream(shards).parallel().forEach(shard -> {
+            shard.lock.lock();
+            try {
+                for (int i : shard.plants) {
+                    Plant plant = plants.get(i);
+                    visitor.plant(plant.getRow(), plant.getCol(), plant.isAlive(), plant.getCurrentWaterLevel(),
+                            plant.getTemperature(), plant.getNumPests());
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        })).join();
+    }
+
+    /** Species names in stats column order. */
+    public List<String> getSpecies() {
+        return species;
+    }
+
+    /** Statistics of the most recent {@link #applyDay} / {@link #applyEvents} call (reused object). */
+    DayStats getDayStats() {
+        return dayStats;
+    }
+
+    public GardenMetrics getMetrics() {
+        return metrics;
+    }
+
+    /** Marks the start of a simulated day; the tick lasts until {@link #endDay()}. */
+    void beginDay() {
+        if (DAY_TICK.isEnabled()) {
+            PhaseEvents.DayTick event = new PhaseEvents.DayTick();
+            aliveAtDayStart = countAlive();
+            event.begin();
+            dayEvent = event;
+        }
+        dayStartNanos = System.nanoTime();
+    }
+
+    /** Marks the end of a simulated day and records its latency. */
+    void endDay() {
+        long start = dayStartNanos;
+        if (start != 0) {
+            metrics.recordTick(System.nanoTime() - start);
+            dayStartNanos = 0;
+        }
+
+        PhaseEvents.DayTick event = dayEvent;
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.gardenSize = plants.size();
+                event.affected = Math.max(0, aliveAtDayStart - countAlive());
+                event.commit();
+            }
+            dayEvent = null;
+        }
+    }
+
+    private int countAlive() {
+        int alive = 0;
+        for (Plant plant : plants) {
+            if (plant.isAlive()) alive++;
+        }
+        return alive;
     }
 
     /** Simulates rainfall effects on plants. */
     void simulateRain(int rainfall) {
-        rainController.simulateRain(rainfall, plants);
+        long allocBefore = GardenMetrics.currentThreadAllocatedBytes();
+        lockAll();
+        try {
+            rainController.simulateRain(rainfall, plants);
+        } finally {
+            unlockAll();
+        }
+        publishResync(version.incrementAndGet());
+        recordAllocationSince(allocBefore);
     }
 
     /** Simulates temperature adjustment effects on plants. */
     void simulateTemperature(int temperature) {
-        temperatureController.adjustTemperature(temperature, plants);
+        long allocBefore = GardenMetrics.currentThreadAllocatedBytes();
+        lockAll();
+        try {
+            temperatureController.adjustTemperature(temperature, plants);
+        } finally {
+            unlockAll();
+        }
+        publishResync(version.incrementAndGet());
+        recordAllocationSince(allocBefore);
     }
 
     /**
@@ -41,31 +499,553 @@ public class GardenController {
      * Randomly decides whether to apply pesticide before the attack.
      */
     void simulatePestAttack(String pest) {
-        if (random.nextBoolean()) {
-            pesticideController.applyPesticide(plants);
+        long allocBefore = GardenMetrics.currentThreadAllocatedBytes();
+        lockAll();
+        try {
+            if (random.nextBoolean()) {
+                pesticideController.applyPesticide(plants);
+            }
+            pestAttackController.simulatePestAttack(pest, plants);
+        } finally {
+            unlockAll();
         }
-        pestAttackController.simulatePestAttack(pest, plants);
+        publishResync(version.incrementAndGet());
+        recordAllocationSince(allocBefore);
     }
 
-    /** Returns a list of alive plants by name. */
-    public List<String> getAlivePlants() {
+    /**
+     * Applies one event to the plants in rows [rowFrom, rowTo] only. Just the
+     * shards covering those rows are locked, so events on disjoint regions
+     * (and on other shards than a running garden-wide pass) run concurrently.
+     */
+    void applyRegion(int rowFrom, int rowTo, GardenEvent event) {
+        int water = event.type() == GardenEventType.RAIN
+                ? rainController.effectiveWater(event.amount(), averageWaterRequirement) : 0;
+        int temperature = event.type() == GardenEventType.TEMPERATURE
+                ? temperatureController.effectiveTemperature(event.amount()) : 0;
+        int until = protectedUntil(pesticideDays);
+        metrics.recordEvent(event.type());
+
+        boolean track = !subscribers.isEmpty();
+        long[] changes = new long[0];
+        int changed = 0;
+        int died = 0;
+        for (GardenShard shard : shards) {
+            if (!shard.overlaps(rowFrom, rowTo)) continue;
+            shard.lock.lock();
+            try {
+                for (int idx : shard.plants) {
+                    Plant plant = plants.get(idx);
+                    if (plant.getRow() < rowFrom || plant.getRow() > rowTo) continue;
+                    boolean wasAlive = plant.isAlive();
+                    int waterBefore = plant.getCurrentWaterLevel();
+                    boolean wasProtected = plant.isPesticideApplied();
+                    if (evaporation && plant.settle(today)) {
+                        metrics.recordDeath(DeathCause.DROUGHT);
+                        died++;
+                    }
+                    boolean alive = plant.isAlive();
+                    switch (event.type()) {
+                        case RAIN -> plant.water(water);
+                        case TEMPERATURE -> plant.adjustTemperature(temperature);
+                        case PESTICIDE -> protect(shard, idx, plant, until);
+                        case PARASITE -> shard.attacker.attack(plant, event.parasite());
+                    }
+                    if (alive && !plant.isAlive()) {
+                        metrics.recordDeath(switch (event.type()) {
+                            case RAIN -> DeathCause.WATER;
+                            case TEMPERATURE -> DeathCause.TEMPERATURE;
+                            default -> DeathCause.PEST;
+                        });
+                        died++;
+                    }
+                    int flags = track ? changes(plant, wasAlive, waterBefore, wasProtected) : 0;
+                    if (flags != 0) {
+                        if (changed == changes.length) changes = Arrays.copyOf(changes, Math.max(16, changed * 2));
+                        changes[changed++] = PlantDelta.of(idx, flags);
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        long v = version.incrementAndGet();
+        if (track) deliver(new DeltaBatch(today, v, Arrays.copyOf(changes, changed), false));
+        log.debug("Applied {} to rows {}..{}; {} died.",
+                event.type(), Unbox.box(rowFrom), Unbox.box(rowTo), Unbox.box(died));
+    }
+
+    /** Locks every shard in index order (the only order used, so no deadlock). */
+    private void lockAll() {
+        for (GardenShard shard : shards) shard.lock.lock();
+    }
+
+    private void unlockAll() {
+        for (int s = shards.length - 1; s >= 0; s--) shards[s].lock.unlock();
+    }
+
+    /**
+     * Applies a batch of events in one fused pass over the plants:
+     * temperature, water, pesticide and parasites are all handled per plant
+     * in the same loop. The batch is a day, not a sequence: each plant gets
+     * the temperature first (the last one given, killing if any was lethal),
+     * then the summed water, then parasites and pesticide in the order those
+     * were given relative to each other.
+     */
+    synchronized void applyEvents(List<GardenEvent> events) {
+        long allocBefore = GardenMetrics.currentThreadAllocatedBytes();
+        pass.reset();
+        today++; // each batch is one simulated day
+        pass.trackChanges = !subscribers.isEmpty();
+        pass.protectUntil = protectedUntil(pesticideDays);
+        dayStats.reset(today);
+        for (int i = 0, n = events.size(); i < n; i++) {
+            GardenEvent event = events.get(i);
+            switch (event.type()) {
+                case RAIN -> {
+                    pass.addWater(rainController.effectiveWater(event.amount(), averageWaterRequirement()));
+                    dayStats.rainfall += event.amount();
+                }
+                case TEMPERATURE -> {
+                    pass.addTemperature(temperatureController.effectiveTemperature(event.amount()));
+                    dayStats.temperature = pass.lastTemperature;
+                }
+                case PARASITE -> {
+                    pass.addParasite(event.parasite(), random.nextBoolean());
+                    if (pestSpread != null) pestSpread.introduceRandom(i, PEST_ARRIVAL_SIZE);
+                }
+                case PESTICIDE -> pass.addPesticide();
+            }
+            metrics.recordEvent(event.type());
+        }
+        stepPestSpread();
+        runPass(events.size());
+        publish(version.incrementAndGet());
+        recordAllocationSince(allocBefore);
+    }
+
+    /** Applies one day's events in a single fused pass (see {@link #applyEvents}). */
+    synchronized void applyDay(DayEvents day) {
+        long allocBefore = GardenMetrics.currentThreadAllocatedBytes();
+        pass.reset();
+        today = day.getDay();
+        pass.trackChanges = !subscribers.isEmpty();
+        pass.protectUntil = protectedUntil(day.getPesticideDays() != DayEvents.GARDEN_DEFAULT_DAYS
+                ? day.getPesticideDays() : pesticideDays);
+        dayStats.reset(today);
+        int count = 0;
+        if (day.getTemperatureField() != null) {
+            WeatherField field = checkGrid(day.getTemperatureField());
+            int[] heated = pass.temperatureCells(field.values().length);
+            temperatureController.effectiveTemperatures(field.values(), heated);
+            dayStats.temperature = mean(heated, field.values().length);
+            metrics.recordEvent(GardenEventType.TEMPERATURE);
+            count++;
+        } else if (day.hasTemperature()) {
+            pass.addTemperature(temperatureController.effectiveTemperature(day.getTemperature()));
+            dayStats.temperature = pass.lastTemperature;
+            metrics.recordEvent(GardenEventType.TEMPERATURE);
+            count++;
+        }
+        if (day.getRainField() != null) {
+            WeatherField field = checkGrid(day.getRainField());
+            rainController.effectiveWater(field.values(), pass.waterCells(field.values().length), averageWaterRequirement());
+            dayStats.rainfall = field.mean();
+            metrics.recordEvent(GardenEventType.RAIN);
+            count++;
+        } else if (day.hasRain()) {
+            pass.addWater(rainController.effectiveWater(day.getRainfall(), averageWaterRequirement()));
+            dayStats.rainfall = day.getRainfall();
+            metrics.recordEvent(GardenEventType.RAIN);
+            count++;
+        }
+        if (day.hasPesticide()) {
+            pass.addPesticide();
+            metrics.recordEvent(GardenEventType.PESTICIDE);
+            count++;
+        }
+        List<String> parasites = day.getParasites();
+        for (int i = 0, n = parasites.size(); i < n; i++) {
+            pass.addParasite(parasites.get(i), random.nextBoolean());
+            if (pestSpread != null) pestSpread.introduceRandom(i, PEST_ARRIVAL_SIZE);
+            metrics.recordEvent(GardenEventType.PARASITE);
+            count++;
+        }
+        stepPestSpread();
+        runPass(count);
+        publish(version.incrementAndGet());
+        recordAllocationSince(allocBefore);
+    }
+
+    /**
+     * Applies everything collected in {@link #pass} to every shard (in
+     * parallel when there is more than one), then merges the shards' counters
+     * into {@link #dayStats} (deaths, pest pressure, alive per species).
+     */
+    private void runPass(int eventCount) {
+        PassEvents events = PassEvents.begin(pass);
+        if (shards.length == 1) {
+            runShard(shards[0]);
+        } else {
+            for (ShardTask task : shardTasks) task.reinitialize();
+            fanOut.reinitialize();
+            pool.invoke(fanOut);
+        }
+
+        DayStats stats = dayStats;
+        int pestPressure = 0;
+        int protectedCount = 0;
+        for (GardenShard shard : shards) {
+            for (int k = 0; k < stats.alive.length; k++) stats.alive[k] += shard.alive[k];
+            for (int k = 0; k < stats.deaths.length; k++) stats.deaths[k] += shard.deaths[k];
+            pestPressure += shard.pestPressure;
+            protectedCount += shard.protectedCount;
+        }
+        stats.pestPressure += pestPressure;
+        if (events != null) events.commit(pass, stats, plants.size(), pestPressure, protectedCount);
+
+        int died = 0;
+        for (DeathCause cause : CAUSES) {
+            int d = stats.deaths[cause.ordinal()];
+            if (d > 0) metrics.recordDeath(cause, d);
+            died += d;
+        }
+        // debug, and boxed via Unbox: this runs every tick and must not allocate
+        log.debug("Applied {} event(s) to {} plant(s) in one pass; {} died.",
+                Unbox.box(eventCount), Unbox.box(plants.size()), Unbox.box(died));
+    }
+
+    /** One fused loop over a shard's plants, under the shard's lock. */
+    private void runShard(GardenShard shard) {
+        shard.lock.lock();
+        try {
+            shard.resetCounters();
+            runShardLocked(shard);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private void runShardLocked(GardenShard shard) {
+        FusedPass p = pass;
+        int[] deaths = shard.deaths;
+        PestAttackController attacker = shard.attacker;
+        boolean track = p.trackChanges;
+        shard.pesticideExpiries.advance(today, shard.onExpire);
+        for (int i : shard.plants) {
+            Plant plant = plants.get(i);
+            boolean wasAlive = plant.isAlive();
+            int waterBefore = plant.getCurrentWaterLevel();
+            boolean wasProtected = plant.isPesticideApplied();
+            if (evaporation && plant.settle(today)) deaths[DeathCause.DROUGHT.ordinal()]++;
+            boolean alive = plant.isAlive();
+
+            if (p.hasTemperature) {
+                if (p.lethal) plant.adjustTemperature(p.lethalTemperature);
+                plant.adjustTemperature(p.temperaturePerCell ? p.temperatureCells[cellOf[i]] : p.lastTemperature);
+                if (alive && !plant.isAlive()) {
+                    deaths[DeathCause.TEMPERATURE.ordinal()]++;
+                    alive = false;
+                }
+            }
+
+            if (p.hasWater) {
+                plant.water(p.waterPerCell ? p.water + p.waterCells[cellOf[i]] : p.water);
+                if (alive && !plant.isAlive()) {
+                    deaths[DeathCause.WATER.ordinal()]++;
+                    alive = false;
+                }
+            }
+
+            for (int k = 0; k < p.parasiteCount; k++) {
+                if (p.protectBefore[k]) protect(shard, i, plant, p.protectUntil);
+                int outcome = attacker.attack(plant, p.parasites[k]);
+                if (outcome != PestAttackController.NOT_AFFECTED) shard.pestPressure++;
+                if (outcome == PestAttackController.KILLED) {
+                    deaths[DeathCause.PEST.ordinal()]++;
+                    alive = false;
+                }
+            }
+            if (p.pendingPesticide) protect(shard, i, plant, p.protectUntil);
+            if (pestSpread != null) plant.setNumPests(pestSpread.getCell(cellOf[i]));
+
+            if (alive) shard.alive[speciesOf[i]]++;
+            if (track) {
+                int flags = changes(plant, wasAlive, waterBefore, wasProtected);
+                if (flags != 0) shard.addDelta(i, flags);
+            }
+        }
+    }
+
+    private void stepPestSpread() {
+        if (pestSpread == null) return;
+        pestSpread.step();
+        dayStats.pestPopulation = pestSpread.total();
+    }
+
+    /** Rounded mean of the first {@code n} values (the effective per-cell temperatures). */
+    private static int mean(int[] values, int n) {
+        long sum = 0;
+        for (int i = 0; i < n; i++) sum += values[i];
+        return (int) Math.round((double) sum / n);
+    }
+
+    private WeatherField checkGrid(WeatherField field) {
+        if (field.getRows() != gridRows || field.getCols() != gridCols) {
+            throw new IllegalArgumentException("Weather field is " + field.getRows() + "x" + field.getCols()
+                    + " but the garden grid is " + gridRows + "x" + gridCols);
+        }
+        return field;
+    }
+
+    private int averageWaterRequirement() {
+        return averageWaterRequirement;
+    }
+
+    private void recordAllocationSince(long allocBefore) {
+        if (allocBefore >= 0) {
+            metrics.recordAllocation(GardenMetrics.currentThreadAllocatedBytes() - allocBefore);
+        }
+    }
+
+    /** Modification version: changes whenever an event changes plant state. */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Status view for the current version. The first reader after a change
+     * builds it under all shard locks, so each plant is read whole; every
+     * other reader gets the cached instance without touching the plants.
+     *
+     * With several shards the view is not atomic with respect to passes:
+     * day passes and region events lock one shard at a time and bump the
+     * version only after releasing them, so a view built concurrently may
+     * show a pass on some shards and not yet on others. It then carries
+     * the version from before that pass, and the pass's own bump makes the
+     * next reader rebuild. Once passes quiesce, the view is exact.
+     *
+     * Reads do not settle evaporation: every day pass settles all plants to
+     * the garden's day before applying anything, so the view is current as
+     * of the last pass. Days the garden is not told about (skipped by
+     * {@link EventScheduler}) are only evaporated by the next pass; settling
+     * on read would not change that and would make a read change state.
+     */
+    public GardenSnapshot snapshot() {
+        GardenSnapshot cached = snapshot;
+        long v = version.get();
+        if (cached != null && cached.version() == v) return cached;
+
         List<String> alive = new ArrayList<>();
-        plants.forEach(plant -> {
-            if (plant.isAlive()) {
-                alive.add(plant.getName());
+        List<String> dead = new ArrayList<>();
+        List<Integer> waterReqs = new ArrayList<>();
+        List<List<String>> parasiteLists = new ArrayList<>();
+        lockAll();
+        try {
+            for (Plant plant : plants) {
+                if (plant.isAlive()) {
+                    alive.add(plant.getName());
+                    waterReqs.add(plant.getWaterRequirement());
+                    parasiteLists.add(plant.getParasites());
+                } else {
+                    dead.add(plant.getName());
+                }
             }
-        });
-        return alive;
+        } finally {
+            unlockAll();
+        }
+        // v was read before building, so the view is at least as new as v.
+        List<String> aliveView = List.copyOf(alive);
+        GardenSnapshot built = new GardenSnapshot(v, aliveView, List.copyOf(dead),
+                Map.of("plants", aliveView, "waterRequirement", List.copyOf(waterReqs),
+                        "parasites", List.copyOf(parasiteLists)));
+        snapshot = built;
+        return built;
+    }
+
+    /** Returns a list of alive plants by name (immutable, shared per version). */
+    public List<String> getAlivePlants() {
+        return snapshot().alive();
     }
 
-    /** Returns a list of dead plants by name. */
+    /** Returns a list of dead plants by name (immutable, shared per version). */
     public List<String> getDeadPlants() {
-        List<String> dead = new ArrayList<>();
-        plants.forEach(plant -> {
-            if (!plant.isAlive()) {
-                dead.add(plant.getName());
+        return snapshot().dead();
+    }
+
+    /** Runs the fused pass for one shard (reused across passes via reinitialize()). */
+    private final class ShardTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final GardenShard shard;
+
+        ShardTask(GardenShard shard) {
+            this.shard = shard;
+        }
+
+        @Override
+        protected void compute() {
+            runShard(shard);
+        }
+    }
+
+    /**
+     * The phase events of one fused pass, each spanning the whole pass
+     * (see {@link PhaseEvents}). Only created while a recording enables at
+     * least one of them, so passes allocate nothing while JFR is off.
+     */
+    private static final class PassEvents {
+        PhaseEvents.Temperature temperature;
+        PhaseEvents.Rain rain;
+        PhaseEvents.PestAttack pestAttack;
+        PhaseEvents.Pesticide pesticide;
+
+        /** @return the started events for the phases in {@code p}, or null if none is enabled */
+        static PassEvents begin(FusedPass p) {
+            boolean pesticide = p.pendingPesticide;
+            for (int k = 0; k < p.parasiteCount && !pesticide; k++) pesticide = p.protectBefore[k];
+            boolean temperatureOn = p.hasTemperature && TEMPERATURE_PHASE.isEnabled();
+            boolean rainOn = p.hasWater && RAIN_PHASE.isEnabled();
+            boolean pestOn = p.parasiteCount > 0 && PEST_ATTACK_PHASE.isEnabled();
+            boolean pesticideOn = pesticide && PESTICIDE_PHASE.isEnabled();
+            if (!temperatureOn && !rainOn && !pestOn && !pesticideOn) return null;
+
+            PassEvents e = new PassEvents();
+            if (temperatureOn) e.temperature = new PhaseEvents.Temperature();
+            if (rainOn) e.rain = new PhaseEvents.Rain();
+            if (pestOn) e.pestAttack = new PhaseEvents.PestAttack();
+            if (pesticideOn) e.pesticide = new PhaseEvents.Pesticide();
+            if (e.temperature != null) e.temperature.begin();
+            if (e.rain != null) e.rain.begin();
+            if (e.pestAttack != null) e.pestAttack.begin();
+            if (e.pesticide != null) e.pesticide.begin();
+            return e;
+        }
+
+        void commit(FusedPass p, DayStats stats, int gardenSize, int pestPressure, int protectedCount) {
+            if (temperature != null && temperature.shouldCommit()) {
+                temperature.gardenSize = gardenSize;
+                temperature.affected = gardenSize;
+                temperature.temperature = stats.temperature;
+                temperature.commit();
+            }
+            if (rain != null && rain.shouldCommit()) {
+                rain.gardenSize = gardenSize;
+                rain.affected = gardenSize;
+                rain.amount = stats.rainfall;
+                rain.commit();
+            }
+            if (pestAttack != null && pestAttack.shouldCommit()) {
+                pestAttack.gardenSize = gardenSize;
+                pestAttack.affected = pestPressure;
+                pestAttack.pest = String.join(",", Arrays.asList(p.parasites).subList(0, p.parasiteCount));
+                pestAttack.commit();
             }
-        });
-        return dead;
+            if (pesticide != null && pesticide.shouldCommit()) {
+                pesticide.gardenSize = gardenSize;
+                pesticide.affected = protectedCount;
+                pesticide.commit();
+            }
+        }
+    }
+
+    /** Forks all shard tasks and waits for them. */
+    private final class FanOut extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+            invokeAll(shardTasks);
+        }
+    }
+
+    /**
+     * Everything one fused pass applies to each plant, always in this order:
+     * temperature, water, then parasites and pesticide. Multiple temperatures
+     * keep the last one (killing if any was lethal); water amounts add up.
+     */
+    private static final class FusedPass {
+        boolean hasTemperature;
+        int lastTemperature;
+        boolean lethal;
+        int lethalTemperature;
+
+        boolean hasWater;
+        int water;
+
+        /** Per-cell effective temperature / extra water, used when a weather field was given. */
+        boolean temperaturePerCell;
+        int[] temperatureCells = new int[0];
+        boolean waterPerCell;
+        int[] waterCells = new int[0];
+
+        String[] parasites = new String[4];
+        boolean[] protectBefore = new boolean[4];
+        int parasiteCount;
+
+        /** Pesticide requested after the last parasite (or with none at all). */
+        boolean pendingPesticide;
+        /** Last day protected by pesticide applied in this pass. */
+        int protectUntil;
+        /** Whether shards collect {@link PlantDelta}s in this pass. */
+        boolean trackChanges;
+
+        void reset() {
+            hasTemperature = false;
+            lethal = false;
+            hasWater = false;
+            water = 0;
+            temperaturePerCell = false;
+            waterPerCell = false;
+            for (int i = 0; i < parasiteCount; i++) parasites[i] = null;
+            parasiteCount = 0;
+            pendingPesticide = false;
+        }
+
+        void addTemperature(int temperature) {
+            hasTemperature = true;
+            lastTemperature = temperature;
+            if (temperature < TemperatureController.LOWER_TEMPERATURE_THRESHOLD
+                    || temperature > TemperatureController.UPPER_TEMPERATURE_THRESHOLD) {
+                lethal = true;
+                lethalTemperature = temperature;
+            }
+        }
+
+        /** Switches temperature to per-cell mode and returns the array to fill. */
+        int[] temperatureCells(int cells) {
+            if (temperatureCells.length < cells) temperatureCells = new int[cells];
+            hasTemperature = true;
+            temperaturePerCell = true;
+            return temperatureCells;
+        }
+
+        /** Switches water to per-cell mode and returns the array to fill. */
+        int[] waterCells(int cells) {
+            if (waterCells.length < cells) waterCells = new int[cells];
+            hasWater = true;
+            waterPerCell = true;
+            return waterCells;
+        }
+
+        void addWater(int amount) {
+            hasWater = true;
+            water += amount;
+        }
+
+        void addPesticide() {
+            pendingPesticide = true;
+        }
+
+        void addParasite(String name, boolean protect) {
+            if (parasiteCount == parasites.length) {
+                parasites = Arrays.copyOf(parasites, parasiteCount * 2);
+                protectBefore = Arrays.copyOf(protectBefore, parasiteCount * 2);
+            }
+            parasites[parasiteCount] = name;
+            protectBefore[parasiteCount] = protect || pendingPesticide;
+            pendingPesticide = false;
+            parasiteCount++;
+        }
     }
 }
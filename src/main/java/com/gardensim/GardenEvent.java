@@ -0,0 +1,27 @@
+package com.gardensim;
+
+/**
+ * A single garden event for the batch API ({@link GardenSimulatorAPI#applyEvents}).
+ *
+ * @param type     what happened
+ * @param amount   rainfall units or temperature (°F); unused otherwise
+ * @param parasite parasite name for {@link GardenEventType#PARASITE}; null otherwise
+ */
+public record GardenEvent(GardenEventType type, int amount, String parasite) {
+
+    public static GardenEvent rain(int amount) {
+        return new GardenEvent(GardenEventType.RAIN, amount, null);
+    }
+
+    public static GardenEvent temperature(int temperatureF) {
+        return new GardenEvent(GardenEventType.TEMPERATURE, temperatureF, null);
+    }
+
+    public static GardenEvent parasite(String name) {
+        return new GardenEvent(GardenEventType.PARASITE, 0, name);
+    }
+
+    public static GardenEvent pesticide() {
+        return new GardenEvent(GardenEventType.PESTICIDE, 0, null);
+    }
+}
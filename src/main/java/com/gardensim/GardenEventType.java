@@ -0,0 +1,11 @@
+package com.gardensim;
+
+/**
+ * Kinds of garden events the simulation reacts to.
+ */
+public enum GardenEventType {
+    RAIN,
+    TEMPERATURE,
+    PARASITE,
+    PESTICIDE
+}
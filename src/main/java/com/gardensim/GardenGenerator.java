@@ -0,0 +1,189 @@
+package com.gardensim;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates synthetic gardens for scale and load testing: N plants of M
+ * species on a rows x cols grid, each species vulnerable to a random share
+ * ({@code vulnerability}) of K parasites. Output is a {@code config.json}
+ * style file or a binary {@link GardenSnapshotFile}; both are streamed plant
+ * by plant, so the garden is never held in memory. The same seed gives the
+ * same garden.
+ *
+ * Run with: mvn -q -Pgenerate exec:java -Dout=garden.bin
+ * (flags: -Dplants=1000000 -Dspecies=16 -Dparasites=32 -Dvulnerability=0.1
+ *         -Drows=0 -Dcols=0 -Dseed=42 -Dformat=json|bin)
+ */
+public class GardenGenerator {
+    private static final Logger log = LogManager.getLogger(GardenGenerator.class);
+
+    /**
+     * What to generate.
+     *
+     * @param plants        number of plants
+     * @param species       number of species
+     * @param parasites     number of distinct parasites
+     * @param vulnerability chance that a species is vulnerable to a given parasite
+     *                      (every species gets at least one while parasites > 0)
+     * @param rows          grid rows (0 = derived from cols, or near-square)
+     * @param cols          grid columns (0 = derived from rows, or near-square)
+     * @param seed          random seed
+     */
+    public record Spec(long plants, int species, int parasites, double vulnerability, int rows, int cols, long seed) {
+        public Spec {
+            if (plants < 0) throw new IllegalArgumentException("plants must be >= 0");
+            if (species < 1) throw new IllegalArgumentException("species must be >= 1");
+            if (parasites < 0) throw new IllegalArgumentException("parasites must be >= 0");
+            if (vulnerability < 0 || vulnerability > 1) throw new IllegalArgumentException("vulnerability must be in [0, 1]");
+            if (rows < 0 || cols < 0) throw new IllegalArgumentException("rows and cols must be >= 0");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Spec spec = new Spec(
+                parseLong(System.getProperty("plants", "1000000"), 1_000_000L),
+                parseInt(System.getProperty("species", "16"), 16),
+                parseInt(System.getProperty("parasites", "32"), 32),
+                parseDouble(System.getProperty("vulnerability", "0.1"), 0.1),
+                parseInt(System.getProperty("rows", "0"), 0),
+                parseInt(System.getProperty("cols", "0"), 0),
+                parseLong(System.getProperty("seed", "42"), 42L));
+        Path out = Path.of(System.getProperty("out", "garden.bin"));
+
+        long start = System.nanoTime();
+        generate(spec, out, System.getProperty("format"));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Wrote {} plant(s) to {} ({} MiB) in {} s", spec.plants(), out,
+                Files.size(out) >> 20, String.format("%.2f", seconds));
+    }
+
+    /**
+     * Writes the garden described by {@code spec} to {@code out}.
+     *
+     * @param format "json" or "bin"; null picks by extension (".json" -> json, otherwise bin)
+     */
+    public static void generate(Spec spec, Path out, String format) throws IOException {
+        if (format == null || format.isBlank()) {
+            format = out.toString().toLowerCase(Locale.ROOT).endsWith(".json") ? "json" : "bin";
+        }
+        Random random = new Random(spec.seed());
+        int[] grid = grid(spec);
+        List<String> parasites = new ArrayList<>(spec.parasites());
+        for (int p = 0; p < spec.parasites(); p++) parasites.add("Pest" + p);
+        List<GardenSnapshotFile.Species> species = species(spec, random);
+
+        switch (format.toLowerCase(Locale.ROOT)) {
+            case "json" -> writeJson(spec, grid, parasites, species, random, out);
+            case "bin" -> writeSnapshot(spec, grid, parasites, species, random, out);
+            default -> throw new IllegalArgumentException("Unknown garden format: " + format);
+        }
+    }
+
+    /** Grid {rows, cols} large enough for every plant. */
+    static int[] grid(Spec spec) {
+        long n = Math.max(1, spec.plants());
+        long rows = spec.rows();
+        long cols = spec.cols();
+        if (rows == 0 && cols == 0) cols = (long) Math.ceil(Math.sqrt(n));
+        if (cols == 0) cols = (n + rows - 1) / rows;
+        if (rows == 0) rows = (n + cols - 1) / cols;
+        if (rows * cols < spec.plants()) {
+            throw new IllegalArgumentException(rows + "x" + cols + " grid is too small for " + spec.plants() + " plants");
+        }
+        if (rows > Integer.MAX_VALUE || cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("grid dimensions must fit in an int");
+        }
+        return new int[] {(int) rows, (int) cols};
+    }
+
+    private static List<GardenSnapshotFile.Species> species(Spec spec, Random random) {
+        List<GardenSnapshotFile.Species> out = new ArrayList<>(spec.species());
+        for (int s = 0; s < spec.species(); s++) {
+            int water = 10 + random.nextInt(21);       // 10..30
+            int temperature = 15 + random.nextInt(21); // 15..35
+            int[] vulnerable = new int[spec.parasites()];
+            int n = 0;
+            for (int p = 0; p < spec.parasites(); p++) {
+                if (random.nextDouble() < spec.vulnerability()) vulnerable[n++] = p;
+            }
+            if (n == 0 && spec.parasites() > 0) vulnerable[n++] = random.nextInt(spec.parasites());
+            out.add(new GardenSnapshotFile.Species("Species" + s, water, temperature, Arrays.copyOf(vulnerable, n)));
+        }
+        return out;
+    }
+
+    private static void writeSnapshot(Spec spec, int[] grid, List<String> parasites,
+                                      List<GardenSnapshotFile.Species> species, Random random, Path out) throws IOException {
+        long cells = (long) grid[0] * grid[1];
+        try (GardenSnapshotFile.Writer w = new GardenSnapshotFile.Writer(out, grid[0], grid[1], spec.plants(),
+                parasites, species)) {
+            for (long i = 0; i < spec.plants(); i++) {
+                long cell = spread(i, spec.plants(), cells);
+                w.write(random.nextInt(spec.species()), (int) (cell / grid[1]), (int) (cell % grid[1]),
+                        0, GardenSnapshotFile.FLAG_ALIVE);
+            }
+        }
+    }
+
+    private static void writeJson(Spec spec, int[] grid, List<String> parasites,
+                                  List<GardenSnapshotFile.Species> species, Random random, Path out) throws IOException {
+        // Everything but the position is fixed per species, so each plant is one prefix + "row"/"col".
+        String[] prefixes = new String[species.size()];
+        for (int s = 0; s < prefixes.length; s++) {
+            GardenSnapshotFile.Species sp = species.get(s);
+            StringBuilder sb = new StringBuilder("    {\"name\": ").append(JSONObject.quote(sp.name()))
+                    .append(", \"waterRequirement\": ").append(sp.waterRequirement())
+                    .append(", \"temperature\": ").append(sp.temperature())
+                    .append(", \"parasites\": [");
+            for (int k = 0; k < sp.parasites().length; k++) {
+                if (k > 0) sb.append(", ");
+                sb.append(JSONObject.quote(parasites.get(sp.parasites()[k])));
+            }
+            prefixes[s] = sb.append("], \"row\": ").toString();
+        }
+
+        long cells = (long) grid[0] * grid[1];
+        try (Writer w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            w.write("{\n  \"plants\": [\n");
+            for (long i = 0; i < spec.plants(); i++) {
+                long cell = spread(i, spec.plants(), cells);
+                w.write(prefixes[random.nextInt(spec.species())]);
+                w.write(Long.toString(cell / grid[1]));
+                w.write(", \"col\": ");
+                w.write(Long.toString(cell % grid[1]));
+                w.write(i + 1 < spec.plants() ? "},\n" : "}\n");
+            }
+            w.write("  ]\n}\n");
+        }
+    }
+
+    /** Cell of plant {@code i}: plants spread evenly, row-major, over the grid. */
+    private static long spread(long i, long plants, long cells) {
+        return cells == plants ? i : (long) ((double) i * cells / plants);
+    }
+
+    private static int parseInt(String s, int def) {
+        try { return Integer.parseInt(s); } catch (Exception e) { return def; }
+    }
+
+    private static long parseLong(String s, long def) {
+        try { return Long.parseLong(s); } catch (Exception e) { return def; }
+    }
+
+    private static double parseDouble(String s, double def) {
+        try { return Double.parseDouble(s); } catch (Exception e) { return def; }
+    }
+}
@@ -0,0 +1,239 @@
+package com.gardensim;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs many isolated headless gardens in one JVM on a shared work-stealing
+ * pool. Each garden owns its API, controller, weather and metrics (nothing
+ * static is shared) and runs in time slices of {@code sliceDays} days; after
+ * a slice it re-queues itself at the back of the FIFO pool, so a busy or
+ * huge garden cannot starve the others. Per-garden CPU time, allocated
+ * bytes, wall time and days are accounted on every slice.
+ *
+ * Run with: mvn -q -Phost exec:java
+ * (flags: -Dgardens=1000 -Ddays=365 -DsliceDays=8 -Dthreads=0 -Dseed=42 -Dconfig=/config.json)
+ */
+public class GardenHost implements AutoCloseable {
+    private static final Logger log = LogManager.getLogger(GardenHost.class);
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final ForkJoinPool pool;
+    private final int sliceDays;
+    private final Map<String, Garden> gardens = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    /** Resource usage of one hosted garden so far. */
+    public record Usage(String id, long days, long slices, long cpuNanos, long allocatedBytes, long wallNanos) { }
+
+    /**
+     * @param threads   worker threads (0 = one per core)
+     * @param sliceDays days a garden runs before yielding to the others
+     */
+    public GardenHost(int threads, int sliceDays) {
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // asyncMode: FIFO local queues, so a re-queued garden goes behind the ones already waiting.
+        this.pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        this.sliceDays = Math.max(1, sliceDays);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int count = parseInt(System.getProperty("gardens", "1000"), 1000);
+        int days = parseInt(System.getProperty("days", "365"), 365);
+        int slice = parseInt(System.getProperty("sliceDays", "8"), 8);
+        int threads = parseInt(System.getProperty("threads", "0"), 0);
+        long seed = parseLong(System.getProperty("seed", "42"), 42L);
+        String config = System.getProperty("config", "/config.json");
+
+        try (GardenHost host = new GardenHost(threads, slice)) {
+            long start = System.nanoTime();
+            List<String> ids = new ArrayList<>();
+            for (int g = 0; g < count; g++) {
+                ids.add(host.add(config, seed + g));
+            }
+            host.runAll(ids, days);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            List<Usage> usage = new ArrayList<>(host.usage());
+            long totalDays = usage.stream().mapToLong(Usage::days).sum();
+            long cpu = usage.stream().mapToLong(Usage::cpuNanos).sum();
+            long alloc = usage.stream().mapToLong(Usage::allocatedBytes).sum();
+            log.info("Hosted {} garden(s) x {} day(s) in {} s -> {} garden-days/s; cpu={} ms, allocated={} MiB",
+                    usage.size(), days, String.format("%.2f", seconds), String.format("%.0f", totalDays / seconds),
+                    cpu / 1_000_000, alloc >> 20);
+            usage.sort(Comparator.comparingLong(Usage::cpuNanos).reversed());
+            for (Usage u : usage.subList(0, Math.min(5, usage.size()))) {
+                log.info("  {}", u);
+            }
+        }
+    }
+
+    /**
+     * Creates a garden from a config resource with its own metrics and
+     * seeded weather.
+     *
+     * @return the new garden's id
+     */
+    public String add(String configPath, long seed) {
+        GardenSimulatorAPI api = new GardenSimulatorAPI();
+        api.setMetrics(new GardenMetrics());
+        api.setShards(1); // parallelism comes from running many gardens at once
+        api.initializeGarden(configPath);
+        api.setSeed(seed);
+        List<String> parasites = api.getKnownParasiteNames();
+        RandomWeather weather = new RandomWeather(new Random(seed), parasites);
+
+        String id = "g" + nextId.getAndIncrement();
+        gardens.put(id, new Garden(id, api, weather));
+        return id;
+    }
+
+    public GardenSimulatorAPI get(String id) {
+        Garden g = gardens.get(id);
+        return g == null ? null : g.api;
+    }
+
+    public void remove(String id) {
+        Garden g = gardens.remove(id);
+        if (g != null) g.cancelled = true;
+    }
+
+    /** Schedules {@code days} more days for a garden; returns at once. */
+    public void run(String id, int days, CountDownLatch done) {
+        Garden g = gardens.get(id);
+        if (g == null) throw new IllegalArgumentException("no garden " + id);
+        g.submit(days, done);
+    }
+
+    /** Runs {@code days} days on each of the given gardens and waits for all of them. */
+    public void runAll(Collection<String> ids, int days) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(ids.size());
+        for (String id : ids) run(id, days, done);
+        done.await();
+    }
+
+    public Usage usage(String id) {
+        Garden g = gardens.get(id);
+        return g == null ? null : g.usage();
+    }
+
+    public List<Usage> usage() {
+        List<Usage> out = new ArrayList<>(gardens.size());
+        for (Garden g : gardens.values()) out.add(g.usage());
+        return out;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(10, TimeUnit.SECONDS)) pool.shutdownNow();
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        gardens.clear();
+    }
+
+    /**
+     * One hosted garden. At most one slice of a garden is queued or running
+     * at a time, so its state is only ever touched by one worker.
+     */
+    private final class Garden implements Runnable {
+        private final String id;
+        private final GardenSimulatorAPI api;
+        private final RandomWeather weather;
+        private final DayEvents today = new DayEvents();
+
+        private int day;
+        private int remaining;
+        private CountDownLatch done;
+        private volatile boolean cancelled;
+
+        // Accounting; written by the running worker, read by anyone.
+        private volatile long days;
+        private volatile long slices;
+        private volatile long cpuNanos;
+        private volatile long allocatedBytes;
+        private volatile long wallNanos;
+
+        Garden(String id, GardenSimulatorAPI api, RandomWeather weather) {
+            this.id = id;
+            this.api = api;
+            this.weather = weather;
+        }
+
+        synchronized void submit(int days, CountDownLatch done) {
+            if (remaining > 0) throw new IllegalStateException("garden " + id + " is already running");
+            this.remaining = days;
+            this.done = done;
+            pool.execute(this);
+        }
+
+        @Override
+        public void run() {
+            long wall0 = System.nanoTime();
+            long cpu0 = THREADS.getCurrentThreadCpuTime();
+            long alloc0 = GardenMetrics.currentThreadAllocatedBytes();
+
+            int n = Math.min(sliceDays, remaining);
+            int ran = 0;
+            boolean completed = false;
+            try {
+                for (; ran < n && !cancelled; ran++) {
+                    api.applyDay(weather.next(++day, today));
+                }
+                completed = true;
+            } catch (RuntimeException e) {
+                log.error("Garden {} failed on day {}; cancelling it: {}", id, day, e.toString());
+            } finally {
+                // A failed garden is cancelled, so whoever waits on it is still released.
+                if (!completed) cancelled = true;
+
+                long cpu1 = THREADS.getCurrentThreadCpuTime();
+                long alloc1 = GardenMetrics.currentThreadAllocatedBytes();
+                if (cpu0 >= 0 && cpu1 >= 0) cpuNanos += cpu1 - cpu0;
+                if (alloc0 >= 0 && alloc1 >= 0) allocatedBytes += alloc1 - alloc0;
+                wallNanos += System.nanoTime() - wall0;
+                days += ran;
+                slices++;
+
+                synchronized (this) {
+                    remaining = cancelled ? 0 : remaining - ran;
+                    if (remaining > 0) {
+                        pool.execute(this); // yield: back of the queue
+                    } else if (done != null) {
+                        done.countDown();
+                        done = null;
+                    }
+                }
+            }
+        }
+
+        Usage usage() {
+            return new Usage(id, days, slices, cpuNanos, allocatedBytes, wallNanos);
+        }
+    }
+
+    private static int parseInt(String s, int def) {
+        try { return Integer.parseInt(s); } catch (Exception e) { return def; }
+    }
+
+    private static long parseLong(String s, long def) {
+        try { return Long.parseLong(s); } catch (Exception e) { return def; }
+    }
+}
@@ -0,0 +1,144 @@
+package com.gardensim;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load generator for {@link GardenServer}: many concurrent clients creating
+ * gardens and posting daily event batches against localhost.
+ *
+ * Flags: -Durl=http://localhost:8080 (omit to start an embedded server),
+ *        -Dclients=32 -Dgardens=64 -Ddays=20 -Dseed=42
+ * Exits with status 1 if any request failed.
+ */
+public class GardenLoadGenerator {
+    private static final Logger log = LogManager.getLogger(GardenLoadGenerator.class);
+
+    private static final List<String> PESTS = List.of("Aphids", "Caterpillar", "Whitefly", "Leafminer", "Hornworm");
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("url");
+        int clients = parseInt(System.getProperty("clients", "32"), 32);
+        int gardens = parseInt(System.getProperty("gardens", "64"), 64);
+        int days = parseInt(System.getProperty("days", "20"), 20);
+        long seed = parseLong(System.getProperty("seed", "42"), 42L);
+
+        GardenServer embedded = null;
+        if (url == null) {
+            embedded = new GardenServer(0, 0);
+            embedded.start();
+            url = "http://localhost:" + embedded.getPort();
+        }
+
+        long failures = run(url, clients, gardens, days, seed);
+
+        if (embedded != null) embedded.stop();
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Drives the server and logs throughput / latency.
+     *
+     * @return number of failed requests
+     */
+    public static long run(String baseUrl, int clients, int gardens, int days, long seed) throws Exception {
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(clients);
+        try {
+            HttpClient http = HttpClient.newBuilder().executor(httpExecutor).build();
+            LatencyHistogram latency = new LatencyHistogram();
+            AtomicLong failures = new AtomicLong();
+
+            // 1) create gardens
+            List<String> ids = new ArrayList<>();
+            for (int g = 0; g < gardens; g++) {
+                HttpResponse<String> r = send(http, HttpRequest.newBuilder(URI.create(baseUrl + "/gardens"))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(), latency, failures);
+                if (r != null && r.statusCode() == 201) ids.add(new JSONObject(r.body()).getString("id"));
+            }
+
+            // 2) clients post one batch per garden per day, each client owning a slice of gardens
+            ExecutorService pool = Executors.newFixedThreadPool(clients);
+            long start = System.nanoTime();
+            List<Future<?>> work = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                final int client = c;
+                work.add(pool.submit(() -> {
+                    Random rng = new Random(seed + client);
+                    for (int d = 0; d < days; d++) {
+                        for (int g = client; g < ids.size(); g += clients) {
+                            String batch = randomDay(rng);
+                            send(http, HttpRequest.newBuilder(URI.create(baseUrl + "/gardens/" + ids.get(g) + "/events"))
+                                    .POST(HttpRequest.BodyPublishers.ofString(batch)).build(), latency, failures);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : work) f.get();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            pool.shutdown();
+
+            // 3) read back status once per garden
+            for (String id : ids) {
+                send(http, HttpRequest.newBuilder(URI.create(baseUrl + "/gardens/" + id + "/status")).GET().build(),
+                        latency, failures);
+            }
+
+            long batches = (long) ids.size() * days;
+            log.info("Load run: {} client(s), {} garden(s), {} batch(es) in {} s -> {} batches/s",
+                    clients, ids.size(), batches, String.format("%.2f", seconds), String.format("%.1f", batches / seconds));
+            log.info("Latency: p50={}us p99={}us max={}us, failures={}",
+                    latency.getPercentileNanos(50) / 1_000, latency.getPercentileNanos(99) / 1_000,
+                    latency.getMaxNanos() / 1_000, failures.get());
+            return failures.get();
+        } finally {
+            httpExecutor.shutdown();
+        }
+    }
+
+    private static String randomDay(Random rng) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("temperature ").append(50 + rng.nextInt(46)).append('\n');
+        if (rng.nextBoolean()) sb.append("rain ").append(1 + rng.nextInt(5)).append('\n');
+        if (rng.nextDouble() < 0.3) sb.append("parasite ").append(PESTS.get(rng.nextInt(PESTS.size()))).append('\n');
+        return sb.toString();
+    }
+
+    private static HttpResponse<String> send(HttpClient http, HttpRequest req, LatencyHistogram latency, AtomicLong failures) {
+        long t0 = System.nanoTime();
+        try {
+            HttpResponse<String> r = http.send(req, HttpResponse.BodyHandlers.ofString());
+            latency.record(System.nanoTime() - t0);
+            if (r.statusCode() >= 300) {
+                failures.incrementAndGet();
+                log.warn("{} {} -> {} {}", req.method(), req.uri(), r.statusCode(), r.body());
+            }
+            return r;
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            log.warn("{} {} failed: {}", req.method(), req.uri(), e.toString());
+            return null;
+        }
+    }
+
+    private static int parseInt(String s, int def) {
+        try { return Integer.parseInt(s); } catch (Exception e) { return def; }
+    }
+
+    private static long parseLong(String s, long def) {
+        try { return Long.parseLong(s); } catch (Exception e) { return def; }
+    }
+}
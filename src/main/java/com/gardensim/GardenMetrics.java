@@ -0,0 +1,207 @@
+package com.gardensim;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.ObjectName;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low-overhead runtime counters for the simulation hot path.
+ * Everything is recorded with LongAdder / {@link LatencyHistogram}, so
+ * controllers on different threads never contend on a lock.
+ * Published over JMX as "com.gardensim:type=GardenMetrics,name=...".
+ */
+public class GardenMetrics implements GardenMetricsMBean {
+    private static final Logger log = LogManager.getLogger(GardenMetrics.class);
+
+    private static volatile GardenMetrics shared;
+    // Looked up once: ManagementFactory.getThreadMXBean() builds a stream per call.
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final LatencyHistogram tickLatency = new LatencyHistogram();
+    private final LatencyHistogram tickLag = new LatencyHistogram();
+    private final LongAdder skippedPeriods = new LongAdder();
+    private final LongAdder[] events = newAdders(GardenEventType.values().length);
+    private final LongAdder[] deaths = newAdders(DeathCause.values().length);
+    private final LongAdder queueDepth = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private volatile long startNanos = System.nanoTime();
+
+    /** Process-wide instance used by controllers created without explicit metrics; registered on first use. */
+    public static GardenMetrics shared() {
+        GardenMetrics m = shared;
+        if (m == null) {
+            synchronized (GardenMetrics.class) {
+                m = shared;
+                if (m == null) {
+                    m = new GardenMetrics();
+                    m.register("default");
+                    shared = m;
+                }
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Registers this instance with the platform MBean server.
+     * Failures are logged and ignored; metrics keep recording either way.
+     *
+     * @param name value of the ObjectName "name" key
+     */
+    public void register(String name) {
+        try {
+            ObjectName on = new ObjectName("com.gardensim:type=GardenMetrics,name=" + ObjectName.quote(name));
+            var server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(on)) {
+                server.registerMBean(this, on);
+            }
+        } catch (Exception e) {
+            log.warn("Could not register GardenMetrics '{}' over JMX: {}", name, e.toString());
+        }
+    }
+
+    // ----- Recording (hot path) -----
+
+    public void recordTick(long nanos) {
+        tickLatency.record(nanos);
+    }
+
+    /** How late a paced tick started relative to its deadline (0 when on time). */
+    public void recordTickLag(long nanos) {
+        tickLag.record(nanos);
+    }
+
+    /** Periods a pacer gave up on instead of catching up (see {@link Pacer}). */
+    public void recordSkippedPeriods(long periods) {
+        skippedPeriods.add(periods);
+    }
+
+    public void recordEvent(GardenEventType type) {
+        events[type.ordinal()].increment();
+    }
+
+    public void recordDeath(DeathCause cause) {
+        deaths[cause.ordinal()].increment();
+    }
+
+    public void recordDeath(DeathCause cause, int count) {
+        deaths[cause.ordinal()].add(count);
+    }
+
+    public void taskQueued() {
+        queueDepth.increment();
+    }
+
+    public void taskDone() {
+        queueDepth.decrement();
+    }
+
+    public void recordAllocation(long bytes) {
+        if (bytes > 0) allocatedBytes.add(bytes);
+    }
+
+    /**
+     * Bytes allocated so far by the calling thread, or -1 if the JVM cannot tell.
+     * Callers diff two readings and pass the result to {@link #recordAllocation}.
+     */
+    public static long currentThreadAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemoryEnabled()) {
+            return sun.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    // ----- Reading -----
+
+    public LatencyHistogram getTickLatency() {
+        return tickLatency;
+    }
+
+    public LatencyHistogram getTickLag() {
+        return tickLag;
+    }
+
+    public long getEvents(GardenEventType type) {
+        return events[type.ordinal()].sum();
+    }
+
+    public long getDeaths(DeathCause cause) {
+        return deaths[cause.ordinal()].sum();
+    }
+
+    @Override public long getTickCount()      { return tickLatency.getCount(); }
+    @Override public long getTickMeanMicros() { return tickLatency.getMeanNanos() / 1_000; }
+    @Override public long getTickP50Micros()  { return tickLatency.getPercentileNanos(50) / 1_000; }
+    @Override public long getTickP99Micros()  { return tickLatency.getPercentileNanos(99) / 1_000; }
+    @Override public long getTickMaxMicros()  { return tickLatency.getMaxNanos() / 1_000; }
+
+    @Override public long getTickLagP99Micros() { return tickLag.getPercentileNanos(99) / 1_000; }
+    @Override public long getTickLagMaxMicros() { return tickLag.getMaxNanos() / 1_000; }
+    @Override public long getSkippedPeriods()   { return skippedPeriods.sum(); }
+
+    @Override public long getRainEvents()        { return getEvents(GardenEventType.RAIN); }
+    @Override public long getTemperatureEvents() { return getEvents(GardenEventType.TEMPERATURE); }
+    @Override public long getParasiteEvents()    { return getEvents(GardenEventType.PARASITE); }
+    @Override public long getPesticideEvents()   { return getEvents(GardenEventType.PESTICIDE); }
+
+    @Override public double getRainEventsPerSecond()        { return perSecond(getRainEvents()); }
+    @Override public double getTemperatureEventsPerSecond() { return perSecond(getTemperatureEvents()); }
+    @Override public double getParasiteEventsPerSecond()    { return perSecond(getParasiteEvents()); }
+    @Override public double getPesticideEventsPerSecond()   { return perSecond(getPesticideEvents()); }
+
+    @Override public long getPlantsKilledByWater()       { return getDeaths(DeathCause.WATER); }
+    @Override public long getPlantsKilledByTemperature() { return getDeaths(DeathCause.TEMPERATURE); }
+    @Override public long getPlantsKilledByPest()        { return getDeaths(DeathCause.PEST); }
+    @Override public long getPlantsKilledByDrought()     { return getDeaths(DeathCause.DROUGHT); }
+
+    @Override public long getQueueDepth()     { return queueDepth.sum(); }
+    @Override public long getAllocatedBytes() { return allocatedBytes.sum(); }
+
+    @Override
+    public long getGcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    @Override
+    public long getGcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    @Override
+    public void reset() {
+        tickLatency.reset();
+        tickLag.reset();
+        skippedPeriods.reset();
+        for (LongAdder a : events) a.reset();
+        for (LongAdder a : deaths) a.reset();
+        allocatedBytes.reset();
+        startNanos = System.nanoTime();
+        // queueDepth is a live gauge, not a counter; leave it alone.
+    }
+
+    private double perSecond(long count) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds <= 0 ? 0.0 : count / seconds;
+    }
+
+    private static LongAdder[] newAdders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,43 @@
+package com.gardensim;
+
+/**
+ * JMX view of {@link GardenMetrics} (visible in JConsole under "com.gardensim").
+ */
+public interface GardenMetricsMBean {
+    // ---- Day ticks ----
+    long getTickCount();
+    long getTickMeanMicros();
+    long getTickP50Micros();
+    long getTickP99Micros();
+    long getTickMaxMicros();
+
+    // ---- Pacing (real-time mode) ----
+    long getTickLagP99Micros();
+    long getTickLagMaxMicros();
+    long getSkippedPeriods();
+
+    // ---- Events ----
+    long getRainEvents();
+    long getTemperatureEvents();
+    long getParasiteEvents();
+    long getPesticideEvents();
+    double getRainEventsPerSecond();
+    double getTemperatureEventsPerSecond();
+    double getParasiteEventsPerSecond();
+    double getPesticideEventsPerSecond();
+
+    // ---- Deaths ----
+    long getPlantsKilledByWater();
+    long getPlantsKilledByTemperature();
+    long getPlantsKilledByPest();
+    long getPlantsKilledByDrought();
+
+    // ---- Queue / memory ----
+    long getQueueDepth();
+    long getAllocatedBytes();
+    long getGcCount();
+    long getGcTimeMillis();
+
+    /** Clears all counters and histograms. */
+    void reset();
+}
@@ -0,0 +1,268 @@
+package com.gardensim;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded HTTP control server (JDK built-in HttpServer) for driving many
+ * headless gardens in one JVM.
+ *
+ * Endpoints:
+ *   POST   /gardens                 create a garden (body: optional classpath config name, e.g.
+ *                                   "/config.json"; never a file path) -> 201 {"id": ...}, 400 if unknown
+ *   GET    /gardens                 list garden ids
+ *   POST   /gardens/{id}/events     apply one day's event batch in one fused pass, one event per line:
+ *                                   "rain 5", "temperature 70", "parasite Aphids", "pesticide"
+ *   GET    /gardens/{id}/status     alive / dead plants as JSON
+ *   GET    /gardens/{id}/stream     stream status as NDJSON (?intervalMs=500&amp;count=10); a stream holds
+ *                                   a handler thread, so it ends after at most one minute (clients reconnect)
+ *   DELETE /gardens/{id}            drop a garden
+ *
+ * Run with: mvn -q -Pserver exec:java  (flags: -Dport=8080 -DserverThreads=0)
+ */
+public class GardenServer {
+    private static final Logger log = LogManager.getLogger(GardenServer.class);
+    /** Config names clients may ask for: classpath JSON resources, no "..", no file paths. */
+    private static final Pattern CONFIG_NAME = Pattern.compile("/?[A-Za-z0-9_-]+(/[A-Za-z0-9_-]+)*\\.json");
+    private static final int MAX_CONFIG_NAME = 256;
+    /** Longest a status stream may hold its handler thread, whatever count the client asks for. */
+    private static final long MAX_STREAM_MILLIS = 60_000;
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final Map<String, GardenSimulatorAPI> gardens = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    /**
+     * @param port    TCP port on localhost (0 picks a free one)
+     * @param threads handler threads; 0 means one thread per in-flight request
+     */
+    public GardenServer(int port, int threads) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        AtomicInteger n = new AtomicInteger();
+        this.handlers = threads > 0
+                ? Executors.newFixedThreadPool(threads, r -> daemon(r, "gardenHttp-" + n.incrementAndGet()))
+                : Executors.newCachedThreadPool(r -> daemon(r, "gardenHttp-" + n.incrementAndGet()));
+        server.setExecutor(handlers);
+        server.createContext("/gardens", this::handle);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = parseInt(System.getProperty("port", "8080"), 8080);
+        int threads = parseInt(System.getProperty("serverThreads", "0"), 0);
+        GardenServer gs = new GardenServer(port, threads);
+        gs.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(gs::stop, "gardenHttpShutdown"));
+    }
+
+    public void start() {
+        server.start();
+        log.info("Garden server listening on http://localhost:{}/gardens", getPort());
+    }
+
+    public void stop() {
+        server.stop(0);
+        handlers.shutdownNow();
+        log.info("Garden server stopped ({} garden(s) dropped).", gardens.size());
+        gardens.clear();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // ----- Routing -----
+
+    private void handle(HttpExchange ex) throws IOException {
+        try {
+            String[] parts = ex.getRequestURI().getPath().split("/");
+            // ["", "gardens", id?, action?]; the context also matches e.g. /gardensXYZ
+            String method = ex.getRequestMethod();
+            if (parts.length < 2 || parts.length > 4 || !"gardens".equals(parts[1])) {
+                send(ex, 404, error("unknown route"));
+                return;
+            }
+            if (parts.length == 2) {
+                if ("POST".equals(method)) createGarden(ex);
+                else if ("GET".equals(method)) send(ex, 200, new JSONObject().put("gardens", new JSONArray(gardens.keySet())));
+                else send(ex, 405, error("method not allowed"));
+                return;
+            }
+
+            GardenSimulatorAPI api = gardens.get(parts[2]);
+            if (api == null) {
+                send(ex, 404, error("no garden " + parts[2]));
+                return;
+            }
+
+            String action = parts.length > 3 ? parts[3] : "";
+            if (action.isEmpty() && "DELETE".equals(method)) {
+                gardens.remove(parts[2]);
+                send(ex, 200, new JSONObject().put("deleted", parts[2]));
+            } else if ("events".equals(action) && "POST".equals(method)) {
+                postEvents(ex, api);
+            } else if ("status".equals(action) && "GET".equals(method)) {
+                send(ex, 200, status(parts[2], api));
+            } else if ("stream".equals(action) && "GET".equals(method)) {
+                streamStatus(ex, parts[2], api);
+            } else {
+                send(ex, 404, error("unknown route"));
+            }
+        } catch (IllegalArgumentException e) {
+            send(ex, 400, error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Request {} {} failed: {}", ex.getRequestMethod(), ex.getRequestURI(), e.toString());
+            send(ex, 500, error(e.toString()));
+        } finally {
+            ex.close();
+        }
+    }
+
+    private void createGarden(HttpExchange ex) throws IOException {
+        byte[] body = ex.getRequestBody().readNBytes(MAX_CONFIG_NAME + 1);
+        if (body.length > MAX_CONFIG_NAME) throw new IllegalArgumentException("config name too long");
+        String config = new String(body, StandardCharsets.UTF_8).trim();
+        if (config.isEmpty()) config = "/config.json";
+        if (!CONFIG_NAME.matcher(config).matches()) {
+            throw new IllegalArgumentException("config must be a classpath resource name like /config.json");
+        }
+        if (!GardenSimulatorAPI.hasResource(config)) throw new IllegalArgumentException("no config resource " + config);
+        GardenSimulatorAPI api = new GardenSimulatorAPI();
+        api.initializeGarden(config);
+        String id = "g" + nextId.getAndIncrement();
+        gardens.put(id, api);
+        send(ex, 201, new JSONObject().put("id", id).put("plants", api.getAlivePlants().size()));
+    }
+
+    /** Applies one batch as one simulated day; batches for the same garden are serialized. */
+    private void postEvents(HttpExchange ex, GardenSimulatorAPI api) throws IOException {
+        List<GardenEvent> events = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(ex.getRequestBody(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                GardenEvent event = parseEvent(line.trim());
+                if (event != null) events.add(event);
+            }
+        }
+        synchronized (api) {
+            api.beginDay();
+            try {
+                api.applyEvents(events);
+            } finally {
+                api.endDay();
+            }
+        }
+        send(ex, 200, new JSONObject().put("applied", events.size()));
+    }
+
+    private static GardenEvent parseEvent(String line) {
+        if (line.isEmpty() || line.startsWith("#")) return null;
+        if ("pesticide".equals(line)) return GardenEvent.pesticide();
+        int sp = line.indexOf(' ');
+        if (sp < 0) throw new IllegalArgumentException("bad event line: " + line);
+        String type = line.substring(0, sp);
+        String arg = line.substring(sp + 1).trim();
+        return switch (type) {
+            case "rain" -> GardenEvent.rain(parseArg(arg, line));
+            case "temperature" -> GardenEvent.temperature(parseArg(arg, line));
+            case "parasite" -> GardenEvent.parasite(arg);
+            default -> throw new IllegalArgumentException("unknown event type: " + type);
+        };
+    }
+
+    private void streamStatus(HttpExchange ex, String id, GardenSimulatorAPI api) throws IOException {
+        Map<String, String> q = query(ex);
+        long intervalMs = Math.min(MAX_STREAM_MILLIS, Math.max(10, parseInt(q.getOrDefault("intervalMs", "500"), 500)));
+        int count = parseInt(q.getOrDefault("count", "0"), 0); // 0 = until the client goes away (or the cap)
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_STREAM_MILLIS);
+
+        ex.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        ex.sendResponseHeaders(200, 0); // chunked
+        try (OutputStream out = ex.getResponseBody()) {
+            for (int i = 0; count <= 0 || i < count; i++) {
+                if (!gardens.containsKey(id) || System.nanoTime() - deadline >= 0) break;
+                out.write((status(id, api).toString() + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                TimeUnit.MILLISECONDS.sleep(intervalMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.debug("Status stream for {} closed by client: {}", id, e.getMessage());
+        }
+    }
+
+    // ----- Helpers -----
+
+    private static JSONObject status(String id, GardenSimulatorAPI api) {
+        GardenSnapshot snapshot = api.getSnapshot();
+        return new JSONObject()
+                .put("id", id)
+                .put("version", snapshot.version())
+                .put("alive", new JSONArray(snapshot.alive()))
+                .put("dead", new JSONArray(snapshot.dead()));
+    }
+
+    private static JSONObject error(String msg) {
+        return new JSONObject().put("error", msg);
+    }
+
+    private static void send(HttpExchange ex, int code, JSONObject body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(code, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange ex) {
+        Map<String, String> q = new ConcurrentHashMap<>();
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw == null) return q;
+        for (String kv : raw.split("&")) {
+            int eq = kv.indexOf('=');
+            if (eq > 0) q.put(kv.substring(0, eq), kv.substring(eq + 1));
+        }
+        return q;
+    }
+
+    private static int parseArg(String arg, String line) {
+        try {
+            return Integer.parseInt(arg);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bad number in event line: " + line);
+        }
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    private static int parseInt(String s, int def) {
+        try { return Integer.parseInt(s); } catch (Exception e) { return def; }
+    }
+}
@@ -0,0 +1,67 @@
+package com.gardensim;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A band of grid rows and the plants in it. Each shard is one lock stripe
+ * of the garden and has its own seeded pest-attack random, so shards can be
+ * processed concurrently without racing on plants and still give the same
+ * result for the same seed.
+ */
+final class GardenShard {
+    final int index;
+    /** Rows covered: [rowFrom, rowTo). */
+    final int rowFrom;
+    final int rowTo;
+    /** Indices into the garden's plant list, in list order. */
+    final int[] plants;
+    final ReentrantLock lock = new ReentrantLock();
+    PestAttackController attacker;
+    /** Pesticide expiries of this shard's plants, keyed by simulated day. */
+    final TimingWheel pesticideExpiries = new TimingWheel(64);
+    /** Expiry callback bound to this shard (records UNPROTECTED deltas here). */
+    TimingWheel.Expiry onExpire;
+
+    // Per-pass counters, merged by GardenController after a fan-out.
+    final int[] alive;
+    final int[] deaths = new int[DeathCause.values().length];
+    int pestPressure;
+    /** Plants whose pesticide protection was set or extended. */
+    int protectedCount;
+    /** {@link PlantDelta}s of the current pass, when anyone subscribed. */
+    long[] deltas = new long[16];
+    int deltaCount;
+
+    GardenShard(int index, int rowFrom, int rowTo, int[] plants, int speciesCount, PestAttackController attacker) {
+        this.index = index;
+        this.rowFrom = rowFrom;
+        this.rowTo = rowTo;
+        this.plants = plants;
+        this.alive = new int[speciesCount];
+        this.attacker = attacker;
+    }
+
+    /** Seed for this shard's pest-attack random, derived from the garden seed. */
+    static Random random(long gardenSeed, int shardIndex) {
+        return new Random(gardenSeed * 0x9E3779B97F4A7C15L + shardIndex);
+    }
+
+    boolean overlaps(int fromRow, int toRowInclusive) {
+        return rowFrom <= toRowInclusive && fromRow < rowTo;
+    }
+
+    void resetCounters() {
+        Arrays.fill(alive, 0);
+        Arrays.fill(deaths, 0);
+        pestPressure = 0;
+        protectedCount = 0;
+        deltaCount = 0;
+    }
+
+    void addDelta(int plant, int flags) {
+        if (deltaCount == deltas.length) deltas = Arrays.copyOf(deltas, deltaCount * 2);
+        deltas[deltaCount++] = PlantDelta.of(plant, flags);
+    }
+}
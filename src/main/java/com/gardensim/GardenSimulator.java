@@ -2,30 +2,53 @@ package com.gardensim;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public class GardenSimulator {
     private static final Logger log = LogManager.getLogger(GardenSimulator.class);
 
-    private static int dayCount = 0;
-
     public static void main(String[] args) {
         // ---- CLI / JVM properties (with safe defaults) ----
-        final String configPath = System.getProperty("config", "/config.json"); // classpath resource
+        final String configPath = System.getProperty("config", "/config.json"); // classpath resource, or a JSON/snapshot file
         final int days = parseInt(System.getProperty("days", "10"), 10);
         final double pestProb = clamp01(parseDouble(System.getProperty("pest", "0.30"), 0.30));
         final long tickMs = parseLong(System.getProperty("tickMs", "1000"), 1000L); // 1 day ~ 1s
+        // Simulated days per wall-clock second; -Drate overrides tickMs, 0 runs unpaced.
+        final double rate = parseDouble(System.getProperty("rate", tickMs > 0 ? String.valueOf(1000.0 / tickMs) : "0"), 0);
+        final int maxBurst = parseInt(System.getProperty("maxBurst", "5"), 5);
+
+        final long seed = parseLong(System.getProperty("seed", "0"), 0L); // 0 = unseeded
 
         GardenSimulatorAPI api = new GardenSimulatorAPI();
-        api.initializeGarden(configPath);
+        api.setShards(parseInt(System.getProperty("shards", "0"), 0));
+        try {
+            api.initializeGardenFromResourceOrFile(configPath);
+        } catch (IOException e) {
+            log.error("Cannot load config '{}': {}", configPath, e.toString());
+            System.exit(1);
+        }
+        if (seed != 0) api.setSeed(seed);
+        final int pesticideDays = parseInt(System.getProperty("pesticideDays", "7"), 7); // 0 = forever
+        api.setPesticideDays(pesticideDays);
+        if (Boolean.parseBoolean(System.getProperty("evaporation", "false"))) api.enableEvaporation();
 
         Map<String, Object> initialPlantDetails = api.getPlants();
-        log.info("Simulation config -> days={}, pestProb={}, tickMs={}ms, config={}",
-                days, pestProb, tickMs, configPath);
-        log.info("Initial plants: {}", initialPlantDetails);
+        log.info("Simulation config -> days={}, pestProb={}, rate={} day(s)/s, config={}",
+                days, pestProb, rate, configPath);
+        List<?> initialNames = (List<?>) initialPlantDetails.get("plants");
+        if (initialNames.size() <= 16) {
+            log.info("Initial plants: {}", initialPlantDetails);
+        } else {
+            log.info("Initial plants: {} alive", initialNames.size());
+        }
 
         // Build a parasite pool from config; fallback to a small default set.
         List<String> parasitePool = api.getKnownParasiteNames();
@@ -34,42 +57,170 @@ public class GardenSimulator {
             log.warn("Config had no parasite names; using fallback list: {}", parasitePool);
         }
 
-        Random rng = new Random();
+        if (Boolean.parseBoolean(System.getProperty("pestSpread", "false"))) {
+            long pestSeed = parseLong(System.getProperty("pestSeed", "42"), 42L);
+            api.enablePestSpread(pestSeed);
+            log.info("Pest spread model enabled (seed={}).", pestSeed);
+        }
 
-        for (int d = 1; d <= days; d++) {
-            // Temperature (F) in a safe-ish range; your Plant logic handles extremes anyway.
-            int tempF = 50 + rng.nextInt(46); // 50..95
-            api.temperature(tempF);
+        SpeciesConfigWatcher watcher = watchConfig(api, configPath);
+        DayStatsSink stats = openStats(api);
+        ScenarioReader scenario = openScenario();
+        HeatmapRenderer.Snapshots heatmaps = HeatmapRenderer.Snapshots.fromProperties(ForkJoinPool.commonPool());
+        if (scenario == null && "events".equals(System.getProperty("engine", "daily"))) {
+            // Discrete-event engine: jump from event to event instead of ticking every day.
+            Random rng = seed != 0 ? new Random(seed) : new Random();
+            new EventScheduler(rng, parasitePool)
+                    .rainEvery(parseDouble(System.getProperty("rainEvery", "10"), 10))
+                    .heatwaveEvery(parseDouble(System.getProperty("heatwaveEvery", "90"), 90))
+                    .pestsEvery(pestProb > 0 ? 1 / pestProb : 0)
+                    .pesticideEvery(parseDouble(System.getProperty("pesticideEvery", "30"), 30),
+                            pesticideDays)
+                    .run(api, days);
+            if (heatmaps != null) heatmaps.write(days, layer -> heatmaps.renderer().render(layer, api));
+            closeStats(stats);
+            closeWatcher(watcher);
+            api.getStatus();
+            System.out.println("Ran " + days + " day(s) event-driven using config=" + configPath);
+            return;
+        }
 
-            // Some rain on ~50% of the days
-            if (rng.nextDouble() < 0.5) {
-                int amount = 1 + rng.nextInt(5); // 1..5
-                api.rain(amount);
+        RandomWeather weather = new RandomWeather(seed != 0 ? new Random(seed) : new Random(), parasitePool).pestProb(pestProb)
+                .fields(System.getProperty("weather", "uniform"), api.getGridRows(), api.getGridCols());
+        DayEvents today = new DayEvents();
+        Pacer pacer = rate > 0 ? new Pacer(rate, maxBurst, api.getMetrics()) : null;
+
+        // A scenario runs to its end unless -Ddays is given.
+        final int limit = scenario != null && System.getProperty("days") == null ? Integer.MAX_VALUE : days;
+        int ran = 0;
+        while (ran < limit) {
+            if (pacer != null && !pacer.awaitTick()) {
+                log.warn("Interrupted; stopping after {} day(s).", ran);
+                break;
             }
-
-            // Pest event based on pestProb
-            if (rng.nextDouble() < pestProb) {
-                String pest = parasitePool.get(rng.nextInt(parasitePool.size()));
-                api.parasites(pest);
+            if (scenario != null) {
+                // Recorded days, one per tick; debug so long feeds are not slowed by logging.
+                if (!nextScenarioDay(scenario, today)) break;
+                api.applyDay(today);
+                log.debug("---------------- End of Day {} -----------------", Unbox.box(today.getDay()));
+            } else {
+                randomDay(api, weather, today, ran + 1);
             }
+            ran++;
+            if (heatmaps != null && heatmaps.due(ran)) {
+                heatmaps.write(today.getDay(), layer -> heatmaps.renderer().render(layer, api));
+            }
+        }
+        if (heatmaps != null && ran > 0 && !heatmaps.due(ran)) {
+            heatmaps.write(today.getDay(), layer -> heatmaps.renderer().render(layer, api));
+        }
 
-            // Advance simulated day
-            sleepMs(tickMs);
+        closeScenario(scenario);
+        closeStats(stats);
+        if (pacer != null) {
+            LatencyHistogram lag = api.getMetrics().getTickLag();
+            log.info("Pacing: {} day(s)/s, {}; lag p50={}us p99={}us max={}us", rate, pacer,
+                    lag.getPercentileNanos(50) / 1_000, lag.getPercentileNanos(99) / 1_000, lag.getMaxNanos() / 1_000);
         }
 
+        closeWatcher(watcher);
+
         // Summary
         api.getStatus();
-        System.out.println("Ran " + days + " day(s) with pestProb=" + pestProb + " using config=" + configPath);
+        System.out.println("Ran " + ran + " day(s) " + (scenario != null ? "from scenario " + System.getProperty("scenario")
+                : "with pestProb=" + pestProb) + " using config=" + configPath);
+    }
+
+    /**
+     * One random-weather day of the headless loop: temperature every day,
+     * rain on ~50% of days, pests with pestProb, applied in one pass. Runs
+     * every tick, so it must not allocate (see DayTickAllocationTest).
+     */
+    static void randomDay(GardenSimulatorAPI api, RandomWeather weather, DayEvents today, int day) {
+        api.applyDay(weather.next(day, today));
+        log.debug("---------------- End of Day {} -----------------", Unbox.box(day));
+    }
+
+    /** Opens the -Dscenario=<file|-> event stream (format from -DscenarioFormat=text|bin or detected), if requested. */
+    private static ScenarioReader openScenario() {
+        String source = System.getProperty("scenario");
+        if (source == null || source.isBlank()) return null;
+        try {
+            ScenarioReader reader = ScenarioReader.open(source, System.getProperty("scenarioFormat"));
+            log.info("Reading events from scenario {}", "-".equals(source) ? "stdin" : source);
+            return reader;
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Cannot open scenario '{}': {}", source, e.toString());
+            System.exit(1);
+            return null;
+        }
+    }
+
+    /** Next recorded day; a malformed record ends the scenario with an error. */
+    private static boolean nextScenarioDay(ScenarioReader scenario, DayEvents out) {
+        try {
+            return scenario.next(out);
+        } catch (IOException e) {
+            log.error("Stopping scenario: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static void closeScenario(ScenarioReader scenario) {
+        if (scenario == null) return;
+        try {
+            scenario.close();
+        } catch (IOException e) {
+            log.error("Failed to close scenario: {}", e.toString());
+        }
+    }
+
+    /** Opens the -Dstats=<file> sink (format from -DstatsFormat=csv|bin or the extension), if requested. */
+    private static DayStatsSink openStats(GardenSimulatorAPI api) {
+        String path = System.getProperty("stats");
+        if (path == null || path.isBlank()) return null;
+        try {
+            DayStatsSink sink = DayStatsSink.open(Path.of(path), System.getProperty("statsFormat"), api.getSpecies());
+            api.setStatsSink(sink);
+            log.info("Writing per-day statistics to {}", path);
+            return sink;
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Cannot open stats file '{}': {}", path, e.toString());
+            return null;
+        }
+    }
+
+    private static void closeStats(DayStatsSink sink) {
+        if (sink == null) return;
+        try {
+            sink.close();
+        } catch (IOException e) {
+            log.error("Failed to close stats file: {}", e.toString());
+        }
+    }
+
+    /** With -DwatchConfig=true and a config file on disk, reloads changed species while running. */
+    private static SpeciesConfigWatcher watchConfig(GardenSimulatorAPI api, String configPath) {
+        if (!Boolean.parseBoolean(System.getProperty("watchConfig", "false"))) return null;
+        Path file = Path.of(configPath);
+        if (!Files.isRegularFile(file)) {
+            log.warn("-DwatchConfig needs a config file on disk; '{}' is not one.", configPath);
+            return null;
+        }
+        try {
+            return new SpeciesConfigWatcher(file, api, 200);
+        } catch (IOException e) {
+            log.error("Cannot watch config '{}': {}", configPath, e.toString());
+            return null;
+        }
     }
 
-    private static void sleepMs(long ms) {
+    private static void closeWatcher(SpeciesConfigWatcher watcher) {
+        if (watcher == null) return;
         try {
-            Thread.sleep(ms);
-            dayCount += 1;
-            log.info("---------------- End of Day {} -----------------", dayCount);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("Sleep interrupted: {}", e.getMessage());
+            watcher.close();
+        } catch (IOException e) {
+            log.error("Failed to stop config watcher: {}", e.toString());
         }
     }
 
@@ -3,11 +3,20 @@ package com.gardensim;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Headless API used by graders/CI. Loads plants from a JSON config (classpath)
@@ -20,12 +29,114 @@ public class GardenSimulatorAPI {
     private final List<Plant> plants = new ArrayList<>();
     private GardenController gardenController;
 
-    /** Initializes the garden using a classpath resource (e.g. "/config.json"). */
+    /** Optional per-day statistics output (see {@link #setStatsSink}). */
+    private DayStatsSink statsSink;
+
+    /** Async event threads started during the current day; joined by {@link #endDay()}. */
+    private final List<GardenThread> pending = new ArrayList<>();
+
+    /** Shard (lock stripe) count for the next initializeGarden; 0 = automatic. */
+    private int shards;
+
+    /** Metrics for the next initializeGarden; the process-wide instance unless set. */
+    private GardenMetrics metrics;
+
+    /** Pool the next initializeGarden's passes fan out on; the common pool unless set. */
+    private ForkJoinPool pool;
+
+    /**
+     * Initializes the garden from a classpath resource (e.g. "/config.json");
+     * never reads the file system, so it is safe for names sent by clients.
+     */
     public void initializeGarden(String resourcePath) {
         plants.clear();
         loadPlants(resourcePath);
-        log.info("Garden initialized with plants: {}", plants);
-        gardenController = new GardenController(plants);
+        installPlants();
+    }
+
+    /**
+     * Initializes the garden from a file: a JSON config or a binary
+     * {@link GardenSnapshotFile}. Only for paths given by the operator.
+     *
+     * @throws IOException if the file cannot be read or parsed
+     */
+    public void initializeGardenFromFile(Path file) throws IOException {
+        plants.clear();
+        if (GardenSnapshotFile.isSnapshot(file)) {
+            loadSnapshot(file);
+        } else {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                readPlants(reader);
+            } catch (JSONException e) {
+                throw new IOException("Bad config '" + file + "': " + e.getMessage(), e);
+            }
+        }
+        installPlants();
+    }
+
+    /**
+     * Initializes from a classpath resource if there is one by that name,
+     * else from the file at that path (command-line tools' -Dconfig).
+     */
+    public void initializeGardenFromResourceOrFile(String config) throws IOException {
+        Path file = toPath(config);
+        if (!hasResource(config) && file != null && Files.isRegularFile(file)) {
+            initializeGardenFromFile(file);
+        } else {
+            initializeGarden(config);
+        }
+    }
+
+    /** Whether a config resource of that name is on the classpath. */
+    public static boolean hasResource(String resourcePath) {
+        return GardenSimulatorAPI.class.getResource(normalize(resourcePath)) != null;
+    }
+
+    private void installPlants() {
+        if (plants.size() <= 16) {
+            log.info("Garden initialized with plants: {}", plants);
+        } else {
+            log.info("Garden initialized with {} plant(s).", plants.size());
+        }
+        gardenController = new GardenController(plants, metrics != null ? metrics : GardenMetrics.shared(),
+                shards, pool != null ? pool : ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Gives the next {@link #initializeGarden} its own metrics instead of the
+     * process-wide ones (used to account hosted gardens separately).
+     */
+    public void setMetrics(GardenMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets how many row-band shards the next {@link #initializeGarden} splits
+     * the garden into (0 = one per core for large gardens, 1 = no fan-out).
+     */
+    public void setShards(int shards) {
+        this.shards = Math.max(0, shards);
+    }
+
+    /**
+     * Gives the next {@link #initializeGarden} its own fork/join pool, bounding
+     * how many threads a garden-wide pass uses (the caller owns the pool).
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /** Reseeds the garden's randomness so runs with the same seed and events repeat exactly. */
+    public void setSeed(long seed) {
+        gardenController.setSeed(seed);
+    }
+
+    /**
+     * Applies one event to rows [rowFrom, rowTo] only, locking just the shards
+     * covering them; region events on disjoint rows run concurrently.
+     */
+    public void applyRegion(int rowFrom, int rowTo, GardenEvent event) {
+        gardenController.applyRegion(rowFrom, rowTo, event);
     }
 
     /** Convenience: initialize with default classpath "/config.json". */
@@ -33,65 +144,124 @@ public class GardenSimulatorAPI {
         initializeGarden("/config.json");
     }
 
-    /** Loads plant definitions from a config JSON file on the classpath. */
+    /**
+     * Loads plant definitions from a config JSON file on the classpath.
+     */
     public void loadPlants(String resourcePath) {
-        String normalized = resourcePath.startsWith("/") ? resourcePath : "/" + resourcePath;
+        String normalized = normalize(resourcePath);
         try (InputStream is = GardenSimulatorAPI.class.getResourceAsStream(normalized)) {
             if (is == null) {
                 log.warn("Resource '{}' not found. Falling back to built-in defaults.", normalized);
                 addDefaultPlants();
                 return;
             }
-            String content = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-            JSONObject json = new JSONObject(content);
-            JSONArray plantsArray = json.getJSONArray("plants");
-
-            for (int i = 0; i < plantsArray.length(); i++) {
-                JSONObject p = plantsArray.getJSONObject(i);
-                String name = p.getString("name");
-                int waterRequirement = p.getInt("waterRequirement");
-                int temperature = p.getInt("temperature");
-
-                List<String> parasites = new ArrayList<>();
-                JSONArray par = p.getJSONArray("parasites");
-                for (int j = 0; j < par.length(); j++) {
-                    parasites.add(par.getString(j));
-                }
-
-                // IMPORTANT: matches Plant(String name, int temperature, int waterRequirement, List<String> parasites)
-                plants.add(new Plant(name, temperature, waterRequirement, parasites));
-            }
+            readPlants(new InputStreamReader(is, StandardCharsets.UTF_8));
         } catch (Exception e) {
             log.error("Failed to load '{}': {}. Using defaults.", normalized, e.toString());
+            plants.clear();
             addDefaultPlants();
         }
     }
 
+    /** Parses a JSON config's "plants" array (and optional grid positions) into the garden. */
+    private void readPlants(Reader reader) {
+        JSONObject json = new JSONObject(new JSONTokener(reader));
+        JSONArray plantsArray = json.getJSONArray("plants");
+
+        for (int i = 0; i < plantsArray.length(); i++) {
+            JSONObject p = plantsArray.getJSONObject(i);
+            String name = p.getString("name");
+            int waterRequirement = p.getInt("waterRequirement");
+            int temperature = p.getInt("temperature");
+
+            List<String> parasites = new ArrayList<>();
+            JSONArray par = p.getJSONArray("parasites");
+            for (int j = 0; j < par.length(); j++) {
+                parasites.add(par.getString(j));
+            }
+
+            // IMPORTANT: matches Plant(String name, int temperature, int waterRequirement, List<String> parasites)
+            Plant plant = new Plant(name, temperature, waterRequirement, parasites);
+            plant.setRow(p.optInt("row", 0)); // optional grid position (for weather fields)
+            plant.setCol(p.optInt("col", 0));
+            plants.add(plant);
+        }
+    }
+
+    private static String normalize(String resourcePath) {
+        return resourcePath.startsWith("/") ? resourcePath : "/" + resourcePath;
+    }
+
+    private static Path toPath(String path) {
+        try {
+            return Path.of(path);
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    /** Streams plants from a binary snapshot; plants of one species share its parasite list. */
+    private void loadSnapshot(Path file) throws IOException {
+        GardenSnapshotFile.read(file, new GardenSnapshotFile.PlantVisitor() {
+            private List<GardenSnapshotFile.Species> species;
+            private List<List<String>> parasites;
+
+            @Override
+            public void header(GardenSnapshotFile.Header header) {
+                species = header.species();
+                parasites = new ArrayList<>(species.size());
+                for (GardenSnapshotFile.Species s : species) {
+                    List<String> names = new ArrayList<>(s.parasites().length);
+                    for (int p : s.parasites()) names.add(header.parasites().get(p));
+                    parasites.add(List.copyOf(names));
+                }
+                if (header.plantCount() < Integer.MAX_VALUE && plants instanceof ArrayList<Plant> list) {
+                    list.ensureCapacity((int) header.plantCount());
+                }
+            }
+
+            @Override
+            public void plant(int s, int row, int col, int water, short flags) {
+                GardenSnapshotFile.Species sp = species.get(s);
+                Plant plant = new Plant(sp.name(), sp.temperature(), sp.waterRequirement(), parasites.get(s));
+                plant.setRow(row);
+                plant.setCol(col);
+                plant.setCurrentWaterLevel(water);
+                plant.setAlive((flags & GardenSnapshotFile.FLAG_ALIVE) != 0);
+                plant.setPesticideApplied((flags & GardenSnapshotFile.FLAG_PESTICIDE) != 0);
+                plants.add(plant);
+            }
+        });
+    }
+
     private void addDefaultPlants() {
         plants.add(new Plant("Rose",   22, 20, List.of("Aphids", "Caterpillar")));
         plants.add(new Plant("Tomato", 24, 18, List.of("Hornworm", "Whitefly")));
         plants.add(new Plant("Orange", 26, 22, List.of("Aphids", "Leafminer")));
     }
 
-    /** Returns plant information as a map of names, water requirements, and parasites. */
+    /**
+     * Returns plant information as a map of names, water requirements, and parasites.
+     * The map is immutable and cached until the garden next changes.
+     */
     public Map<String, Object> getPlants() {
-        List<String> names = new ArrayList<>();
-        List<Integer> waterReqs = new ArrayList<>();
-        List<List<String>> parasiteLists = new ArrayList<>();
-
-        for (Plant plant : plants) {
-            if (plant.isAlive()) {
-                names.add(plant.getName());
-                waterReqs.add(plant.getWaterRequirement());
-                parasiteLists.add(plant.getParasites());
-            }
-        }
+        return gardenController.snapshot().plants();
+    }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("plants", names);
-        result.put("waterRequirement", waterReqs);
-        result.put("parasites", parasiteLists);
-        return result;
+    /**
+     * Subscribes to per-tick deltas of changed plants (see
+     * {@link GardenController#subscribe}); plant indices refer to the order of
+     * the loaded plants. {@link #rain}, {@link #temperature}, {@link #parasites}
+     * and {@link #updateSpecies} report no deltas: each delivers an empty
+     * overflowed batch, meaning "resync from {@link #getSnapshot()}".
+     */
+    public ChangeSubscription subscribe(int capacity) {
+        return gardenController.subscribe(capacity);
+    }
+
+    /** Immutable status view of the current version, shared by all readers until the garden changes. */
+    public GardenSnapshot getSnapshot() {
+        return gardenController.snapshot();
     }
 
     /** Flattened parasite names from all configured plants. */
@@ -108,18 +278,18 @@ public class GardenSimulatorAPI {
 
     /** Simulates rainfall in the garden asynchronously. */
     public void rain(int amount) {
-        new GardenThread(() -> {
+        startAsync(() -> {
             gardenController.simulateRain(amount);
             log.info("It rained {} unit(s).", amount);
-        }, "rainThread").start();
+        }, "rainThread");
     }
 
     /** Simulates a temperature change in the garden asynchronously. */
     public void temperature(int temperatureF) {
-        new GardenThread(() -> {
+        startAsync(() -> {
             log.info("Temperature reached {} F", temperatureF);
             gardenController.simulateTemperature(temperatureF);
-        }, "temperatureThread").start();
+        }, "temperatureThread");
     }
 
     /** Simulates a parasite attack on the garden. */
@@ -128,6 +298,158 @@ public class GardenSimulatorAPI {
         gardenController.simulatePestAttack(parasiteName);
     }
 
+    /**
+     * Applies a batch of events synchronously in one fused pass over the
+     * plants (instead of one thread and one garden pass per event). Each
+     * plant gets temperature, then water, then parasites and pesticide,
+     * whatever order the batch lists them in.
+     */
+    public void applyEvents(List<GardenEvent> events) {
+        synchronized (gardenController) {
+            gardenController.applyEvents(events);
+            writeStats();
+        }
+    }
+
+    /** Applies one whole day (temperature, rain, pesticide, parasites) as a single tick. */
+    public void applyDay(DayEvents day) {
+        beginDay();
+        synchronized (gardenController) {
+            gardenController.applyDay(day);
+            writeStats();
+        }
+        endDay();
+    }
+
+    /**
+     * Streams a statistics row to {@code sink} after every applied day or batch
+     * (null disables). The caller owns the sink and closes it.
+     */
+    public void setStatsSink(DayStatsSink sink) {
+        this.statsSink = sink;
+    }
+
+    /**
+     * Updates species definitions in place, between ticks, without reloading
+     * the garden (see {@link GardenController#updateSpecies}).
+     *
+     * @return number of plants updated
+     */
+    public int updateSpecies(Collection<SpeciesDefinition> definitions) {
+        return gardenController.updateSpecies(definitions);
+    }
+
+    /** Turns on lazy per-day evaporation of the plants' water (off by default). */
+    public void enableEvaporation() {
+        gardenController.enableEvaporation();
+    }
+
+    /** Sets how many days a pesticide application protects for (0 = forever). */
+    public void setPesticideDays(int days) {
+        gardenController.setPesticideDays(days);
+    }
+
+    /** Enables the seeded pest diffusion model over the garden grid. */
+    public void enablePestSpread(long seed) {
+        gardenController.enablePestSpread(seed);
+    }
+
+    /** Grid rows spanned by the plants (weather fields must match). */
+    public int getGridRows() {
+        return gardenController.getGridRows();
+    }
+
+    /** Grid columns spanned by the plants (weather fields must match). */
+    public int getGridCols() {
+        return gardenController.getGridCols();
+    }
+
+    /**
+     * Hands every plant's current state to {@code visitor}, shards in parallel
+     * on {@code pool} (see {@link HeatmapRenderer#render(HeatmapRenderer.Layer, GardenSimulatorAPI)}).
+     */
+    public void visitPlants(ForkJoinPool pool, GardenController.PlantStateVisitor visitor) {
+        gardenController.visitPlants(pool, visitor);
+    }
+
+    /** Species names of this garden, i.e. the alive-per-species stats columns. */
+    public List<String> getSpecies() {
+        return gardenController.getSpecies();
+    }
+
+    private void writeStats() {
+        DayStatsSink sink = statsSink;
+        if (sink == null) return;
+        try {
+            sink.write(gardenController.getDayStats());
+        } catch (java.io.IOException e) {
+            log.error("Failed to write day stats, disabling the stats sink: {}", e.toString());
+            statsSink = null;
+        }
+    }
+
+    /** Starts a day tick (for latency metrics). */
+    public void beginDay() {
+        gardenController.beginDay();
+    }
+
+    /** Waits for the day's async events to finish, then closes the day tick. */
+    public void endDay() {
+        List<GardenThread> started = List.of();
+        synchronized (pending) {
+            if (!pending.isEmpty()) {
+                started = new ArrayList<>(pending);
+                pending.clear();
+            }
+        }
+        for (int i = 0; i < started.size(); i++) {
+            GardenThread t = started.get(i);
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while waiting for {}", t.getName());
+                break;
+            }
+        }
+        gardenController.endDay();
+    }
+
+    /** Runtime metrics of this garden (also published over JMX). */
+    public GardenMetrics getMetrics() {
+        return gardenController.getMetrics();
+    }
+
+    private void startAsync(Runnable task, String name) {
+        GardenMetrics metrics = gardenController.getMetrics();
+        metrics.taskQueued();
+        GardenThread t = new GardenThread(() -> {
+            try {
+                task.run();
+            } finally {
+                metrics.taskDone();
+                // finished: nothing left for endDay to wait on (and callers that never call it don't leak)
+                synchronized (pending) {
+                    pending.remove(Thread.currentThread());
+                }
+            }
+        }, name);
+        synchronized (pending) {
+            pending.add(t); // before start, so the finally above always finds it
+        }
+        t.start();
+    }
+
+    /** Names of the plants that are still alive. */
+    public List<String> getAlivePlants() {
+        return gardenController.getAlivePlants();
+    }
+
+    /** Names of the plants that have died. */
+    public List<String> getDeadPlants() {
+        return gardenController.getDeadPlants();
+    }
+
     /** Logs the current status of alive and dead plants. */
     public void getStatus() {
         log.info("Alive Plants : {}", gardenController.getAlivePlants());
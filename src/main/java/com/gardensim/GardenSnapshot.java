@@ -0,0 +1,20 @@
+package com.gardensim;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of a garden's status at one modification version.
+ * Built at most once per version by {@link GardenController#snapshot()} and
+ * shared by every reader, on any thread.
+ *
+ * @param version modification version read before the view was built; the
+ *                view includes every change up to it (and possibly part of a
+ *                pass still running, see {@link GardenController#snapshot()})
+ * @param alive   names of alive plants, in garden order
+ * @param dead    names of dead plants, in garden order
+ * @param plants  the {@link GardenSimulatorAPI#getPlants()} map (alive plants'
+ *                names, water requirements and parasites)
+ */
+public record GardenSnapshot(long version, List<String> alive, List<String> dead, Map<String, Object> plants) {
+}
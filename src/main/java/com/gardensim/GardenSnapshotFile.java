@@ -0,0 +1,204 @@
+package com.gardensim;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary garden snapshot (little-endian), written and read as a stream so a
+ * garden of any size passes through a fixed-size buffer.
+ *
+ * Layout:
+ *   header:   int magic 'GSN1', int rows, int cols, long plantCount,
+ *             int parasiteCount, then per parasite: short length + UTF-8 name,
+ *             int speciesCount, then per species: short length + UTF-8 name,
+ *             int waterRequirement, int temperature, int n, n parasite indices
+ *   records:  plantCount x {int species, int row, int col, short water, short flags}
+ */
+public final class GardenSnapshotFile {
+    public static final int MAGIC = 0x314E5347; // "GSN1" little-endian
+    public static final int RECORD_BYTES = 3 * Integer.BYTES + 2 * Short.BYTES;
+    public static final short FLAG_ALIVE = 1;
+    public static final short FLAG_PESTICIDE = 2;
+
+    private static final int BLOCK_RECORDS = 8192;
+
+    /** One plant species: shared by every plant of that species. */
+    public record Species(String name, int waterRequirement, int temperature, int[] parasites) { }
+
+    private GardenSnapshotFile() { }
+
+    /** Streams plant records to a file after writing the header. */
+    public static final class Writer implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer block =
+                ByteBuffer.allocateDirect(RECORD_BYTES * BLOCK_RECORDS).order(ByteOrder.LITTLE_ENDIAN);
+        private final long expected;
+        private long written;
+
+        public Writer(Path path, int rows, int cols, long plantCount,
+                      List<String> parasites, List<Species> species) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.expected = plantCount;
+
+            int headerBytes = 4 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+            byte[][] parasiteNames = new byte[parasites.size()][];
+            for (int i = 0; i < parasiteNames.length; i++) {
+                parasiteNames[i] = parasites.get(i).getBytes(StandardCharsets.UTF_8);
+                headerBytes += Short.BYTES + parasiteNames[i].length;
+            }
+            byte[][] speciesNames = new byte[species.size()][];
+            for (int i = 0; i < speciesNames.length; i++) {
+                speciesNames[i] = species.get(i).name().getBytes(StandardCharsets.UTF_8);
+                headerBytes += Short.BYTES + speciesNames[i].length
+                        + 3 * Integer.BYTES + species.get(i).parasites().length * Integer.BYTES;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(headerBytes).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(rows).putInt(cols).putLong(plantCount);
+            header.putInt(parasiteNames.length);
+            for (byte[] name : parasiteNames) header.putShort((short) name.length).put(name);
+            header.putInt(speciesNames.length);
+            for (int i = 0; i < speciesNames.length; i++) {
+                Species s = species.get(i);
+                header.putShort((short) speciesNames[i].length).put(speciesNames[i]);
+                header.putInt(s.waterRequirement()).putInt(s.temperature()).putInt(s.parasites().length);
+                for (int p : s.parasites()) header.putInt(p);
+            }
+            header.flip();
+            while (header.hasRemaining()) channel.write(header);
+        }
+
+        public void write(int species, int row, int col, int water, short flags) throws IOException {
+            if (!block.hasRemaining()) flush();
+            block.putInt(species).putInt(row).putInt(col)
+                    .putShort((short) Math.min(water, Short.MAX_VALUE)).putShort(flags);
+            written++;
+        }
+
+        private void flush() throws IOException {
+            block.flip();
+            while (block.hasRemaining()) channel.write(block);
+            block.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+                if (written != expected) {
+                    throw new IOException("snapshot header promised " + expected + " plant(s), wrote " + written);
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /** Receives the header, then every plant record, as they are read. */
+    public interface PlantVisitor {
+        default void header(Header header) { }
+
+        /** @param species index into {@link Header#species()} */
+        void plant(int species, int row, int col, int water, short flags);
+    }
+
+    /** Summary of a snapshot header. */
+    public record Header(int rows, int cols, long plantCount, List<String> parasites, List<Species> species) { }
+
+    /** Returns true if the file starts with the snapshot magic. */
+    public static boolean isSnapshot(Path path) {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining() && ch.read(magic) >= 0) { }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** Reads just the header (dimensions, parasites and species) of a snapshot. */
+    public static Header readHeader(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readHeader(path, ch, newBuffer());
+        }
+    }
+
+    /**
+     * Reads a snapshot, handing each plant record to {@code visitor} in file
+     * order; only one block of records is buffered at a time.
+     */
+    public static Header read(Path path, PlantVisitor visitor) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buf = newBuffer();
+            Header header = readHeader(path, ch, buf);
+            int speciesCount = header.species().size();
+            visitor.header(header);
+            for (long n = 0; n < header.plantCount(); n++) {
+                fill(ch, buf, RECORD_BYTES);
+                int s = buf.getInt();
+                if (s < 0 || s >= speciesCount) throw new IOException("bad species index " + s + " in plant " + n);
+                visitor.plant(s, buf.getInt(), buf.getInt(), buf.getShort(), buf.getShort());
+            }
+            return header;
+        }
+    }
+
+    private static ByteBuffer newBuffer() {
+        ByteBuffer buf = ByteBuffer.allocateDirect(RECORD_BYTES * BLOCK_RECORDS).order(ByteOrder.LITTLE_ENDIAN);
+        return buf.flip();
+    }
+
+    private static Header readHeader(Path path, FileChannel ch, ByteBuffer buf) throws IOException {
+        fill(ch, buf, 4 * Integer.BYTES + Long.BYTES);
+        if (buf.getInt() != MAGIC) throw new IOException(path + " is not a garden snapshot");
+        int rows = buf.getInt();
+        int cols = buf.getInt();
+        long count = buf.getLong();
+        int parasiteCount = buf.getInt();
+        List<String> parasites = new ArrayList<>(parasiteCount);
+        for (int i = 0; i < parasiteCount; i++) parasites.add(readString(ch, buf));
+        fill(ch, buf, Integer.BYTES);
+        int speciesCount = buf.getInt();
+        List<Species> species = new ArrayList<>(speciesCount);
+        for (int i = 0; i < speciesCount; i++) {
+            String name = readString(ch, buf);
+            fill(ch, buf, 3 * Integer.BYTES);
+            int water = buf.getInt();
+            int temperature = buf.getInt();
+            int[] vulnerable = new int[buf.getInt()];
+            for (int k = 0; k < vulnerable.length; k++) {
+                fill(ch, buf, Integer.BYTES);
+                vulnerable[k] = buf.getInt();
+            }
+            species.add(new Species(name, water, temperature, vulnerable));
+        }
+        return new Header(rows, cols, count, List.copyOf(parasites), List.copyOf(species));
+    }
+
+    /** Makes at least {@code bytes} bytes readable in {@code buf}, refilling it from the channel. */
+    private static void fill(FileChannel ch, ByteBuffer buf, int bytes) throws IOException {
+        if (buf.remaining() >= bytes) return;
+        buf.compact();
+        while (buf.position() < bytes) {
+            if (ch.read(buf) < 0) throw new IOException("truncated garden snapshot");
+        }
+        buf.flip();
+    }
+
+    private static String readString(FileChannel ch, ByteBuffer buf) throws IOException {
+        fill(ch, buf, Short.BYTES);
+        byte[] bytes = new byte[buf.getShort() & 0xFFFF];
+        fill(ch, buf, bytes.length);
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
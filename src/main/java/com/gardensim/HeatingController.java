@@ -2,6 +2,7 @@ package com.gardensim;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 
 /**
  * Controller for managing the heating system in the garden.
@@ -11,7 +12,7 @@ public class HeatingController {
     private static final Logger log = LogManager.getLogger(HeatingController.class);
 
     /** Minimum safe temperature for plants in °F. */
-    private static final int MINIMUM_SAFE_TEMPERATURE = 50;
+    static final int MINIMUM_SAFE_TEMPERATURE = 50;
 
     /**
      * Activates the heating system and raises the temperature
@@ -20,7 +21,8 @@ public class HeatingController {
      * @return the minimum safe temperature (°F).
      */
     public int activateHeating() {
-        log.info("Activating heating system to increase temperature to {} °F.", MINIMUM_SAFE_TEMPERATURE);
+        // debug, and boxed via Unbox: fused day passes call this on every cold day
+        log.debug("Activating heating system to increase temperature to {} °F.", Unbox.box(MINIMUM_SAFE_TEMPERATURE));
         return MINIMUM_SAFE_TEMPERATURE;
     }
 }
@@ -0,0 +1,326 @@
+package com.gardensim;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+/**
+ * Renders garden state into PNG heatmaps without JavaFX: alive share, water
+ * level, temperature or pest density per grid cell. Plant values are summed
+ * per cell straight from primitive state (in parallel, see
+ * {@link Grid#add}), then colored into the int raster of a
+ * {@link BufferedImage} in parallel bands of rows. The engine itself knows
+ * nothing of images: the renderer pulls plant state through
+ * {@link GardenSimulatorAPI#visitPlants} or an {@link OffHeapPlantStore}.
+ *
+ * Small grids are scaled up to about {@code maxSize} pixels; larger ones are
+ * averaged down so that the image is at most {@code maxSize} on a side.
+ * Cells without plants are dark gray.
+ */
+public final class HeatmapRenderer {
+    private static final Logger log = LogManager.getLogger(HeatmapRenderer.class);
+
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+    /** Image rows per parallel coloring task. */
+    private static final int TILE_ROWS = 32;
+    /** Plants per parallel task when reading an {@link OffHeapPlantStore}. */
+    private static final int TASK_PLANTS = 1 << 18;
+    private static final int EMPTY = 0x202020;
+
+    /** What a heatmap shows. */
+    public enum Layer {
+        /** Share of the cell's plants alive: red (all dead) to green (all alive). */
+        ALIVE(0xC0392B, 0xF1C40F, 0x27AE60),
+        /** Mean water level, pale to dark blue, scaled to the wettest cell. */
+        WATER(0xF7FBFF, 0x6BAED6, 0x08306B),
+        /** Mean temperature, blue to red over 40..120 °F (the survivable range). */
+        TEMPERATURE(0x313695, 0xFFFFBF, 0xA50026),
+        /** Mean pests per plant, pale to dark brown, scaled to the worst cell. */
+        PESTS(0xFFF5EB, 0xFD8D3C, 0x7F2704);
+
+        private final int[] palette = new int[256];
+
+        Layer(int low, int mid, int high) {
+            for (int i = 0; i < 256; i++) {
+                palette[i] = i < 128 ? mix(low, mid, i / 127.0) : mix(mid, high, (i - 128) / 127.0);
+            }
+        }
+
+        /** Lower-case name used in flags and file names. */
+        public String id() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /** Parses "alive,water" style lists; unknown names are logged and skipped. */
+        public static List<Layer> parse(String s) {
+            List<Layer> layers = new ArrayList<>();
+            for (String part : s.split(",")) {
+                String name = part.trim();
+                if (name.isEmpty()) continue;
+                try {
+                    layers.add(valueOf(name.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring unknown heatmap layer '{}'", name);
+                }
+            }
+            return layers;
+        }
+
+        /** The value a plant with this state contributes to its cell. */
+        int value(boolean alive, int water, int temperature, int pests) {
+            return switch (this) {
+                case ALIVE -> alive ? 1 : 0;
+                case WATER -> water;
+                case TEMPERATURE -> temperature;
+                case PESTS -> pests;
+            };
+        }
+    }
+
+    /**
+     * Per-cell sums and plant counts at image resolution (one slot per block
+     * of {@code cellsPerPixel} x {@code cellsPerPixel} grid cells).
+     */
+    public static final class Grid {
+        final int rows;
+        final int cols;
+        final int cellsPerPixel;
+        final int width;
+        final int height;
+        final int[] sum;
+        final int[] count;
+
+        Grid(int rows, int cols, int cellsPerPixel) {
+            this.rows = rows;
+            this.cols = cols;
+            this.cellsPerPixel = cellsPerPixel;
+            this.width = (cols + cellsPerPixel - 1) / cellsPerPixel;
+            this.height = (rows + cellsPerPixel - 1) / cellsPerPixel;
+            this.sum = new int[width * height];
+            this.count = new int[width * height];
+        }
+
+        /** Adds a plant's value to its cell; safe to call from several threads. */
+        public void add(int row, int col, int value) {
+            if (row < 0 || col < 0 || row >= rows || col >= cols) return;
+            int i = (row / cellsPerPixel) * width + col / cellsPerPixel;
+            INTS.getAndAdd(sum, i, value);
+            INTS.getAndAdd(count, i, 1);
+        }
+    }
+
+    private final int maxSize;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param maxSize largest image side in pixels
+     * @param pool    pool the accumulation and coloring fan out on
+     */
+    public HeatmapRenderer(int maxSize, ForkJoinPool pool) {
+        this.maxSize = Math.max(1, maxSize);
+        this.pool = pool;
+    }
+
+    /** An empty grid for a rows x cols garden, at the resolution this renderer draws it. */
+    public Grid newGrid(int rows, int cols) {
+        int side = Math.max(rows, cols);
+        return new Grid(rows, cols, side <= maxSize ? 1 : (side + maxSize - 1) / maxSize);
+    }
+
+    /**
+     * Renders one layer of a garden's current state; shards are read in
+     * parallel, each under its own lock.
+     */
+    public BufferedImage render(Layer layer, GardenSimulatorAPI api) {
+        Grid grid = newGrid(api.getGridRows(), api.getGridCols());
+        api.visitPlants(pool, (row, col, alive, water, temperature, pests) ->
+                grid.add(row, col, layer.value(alive, water, temperature, pests)));
+        return render(layer, grid);
+    }
+
+    /** Renders one layer of an off-heap garden (it has no pest model, so PESTS is empty). */
+    public BufferedImage render(Layer layer, OffHeapPlantStore store) {
+        Grid grid = newGrid(store.getRows(), store.getCols());
+        long tasks = (store.size() + TASK_PLANTS - 1) / TASK_PLANTS;
+        pool.submit(() -> LongStream.range(0, tasks).parallel().forEach(t -> {
+            long to = Math.min(store.size(), (t + 1) * TASK_PLANTS);
+            for (long i = t * TASK_PLANTS; i < to; i++) {
+                grid.add(store.getRow(i), store.getCol(i),
+                        layer.value(store.isAlive(i), store.getWater(i), store.getTemperature(i), 0));
+            }
+        })).join();
+        return render(layer, grid);
+    }
+
+    /** Colors a filled grid into an RGB image. */
+    public BufferedImage render(Layer layer, Grid grid) {
+        double low;
+        double high;
+        switch (layer) {
+            case ALIVE -> { low = 0; high = 1; }
+            case TEMPERATURE -> {
+                low = TemperatureController.LOWER_TEMPERATURE_THRESHOLD;
+                high = TemperatureController.UPPER_TEMPERATURE_THRESHOLD;
+            }
+            default -> { low = 0; high = Math.max(1, maxMean(grid)); }
+        }
+
+        int pixelsPerCell = grid.cellsPerPixel > 1 ? 1 : Math.max(1, maxSize / Math.max(grid.width, grid.height));
+        BufferedImage image = new BufferedImage(grid.width * pixelsPerCell, grid.height * pixelsPerCell,
+                BufferedImage.TYPE_INT_RGB);
+        int[] raster = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        List<Tile> tiles = new ArrayList<>();
+        for (int y = 0; y < image.getHeight(); y += TILE_ROWS) {
+            tiles.add(new Tile(grid, layer.palette, low, high, pixelsPerCell, raster, image.getWidth(),
+                    y, Math.min(image.getHeight(), y + TILE_ROWS)));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tiles);
+            }
+        });
+        return image;
+    }
+
+    private static double maxMean(Grid grid) {
+        double max = 0;
+        for (int i = 0; i < grid.sum.length; i++) {
+            if (grid.count[i] > 0) max = Math.max(max, (double) grid.sum[i] / grid.count[i]);
+        }
+        return max;
+    }
+
+    /** Colors image rows [yFrom, yTo). */
+    private static final class Tile extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Grid grid;
+        private final int[] palette;
+        private final double low;
+        private final double scale;
+        private final int pixelsPerCell;
+        private final int[] raster;
+        private final int width;
+        private final int yFrom;
+        private final int yTo;
+
+        Tile(Grid grid, int[] palette, double low, double high, int pixelsPerCell,
+             int[] raster, int width, int yFrom, int yTo) {
+            this.grid = grid;
+            this.palette = palette;
+            this.low = low;
+            this.scale = 255 / Math.max(1e-9, high - low);
+            this.pixelsPerCell = pixelsPerCell;
+            this.raster = raster;
+            this.width = width;
+            this.yFrom = yFrom;
+            this.yTo = yTo;
+        }
+
+        @Override
+        protected void compute() {
+            for (int y = yFrom; y < yTo; y++) {
+                int row = (y / pixelsPerCell) * grid.width;
+                int out = y * width;
+                for (int x = 0; x < width; x++) {
+                    int cell = row + x / pixelsPerCell;
+                    int n = grid.count[cell];
+                    if (n == 0) {
+                        raster[out + x] = EMPTY;
+                    } else {
+                        int level = (int) (((double) grid.sum[cell] / n - low) * scale);
+                        raster[out + x] = palette[Math.max(0, Math.min(255, level))];
+                    }
+                }
+            }
+        }
+    }
+
+    /** Writes an image as PNG, creating parent directories. */
+    public static void writePng(BufferedImage image, Path file) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        if (!ImageIO.write(image, "png", file.toFile())) throw new IOException("No PNG writer available");
+    }
+
+    private static int mix(int a, int b, double t) {
+        int r = (int) Math.round(((a >> 16) & 0xFF) * (1 - t) + ((b >> 16) & 0xFF) * t);
+        int g = (int) Math.round(((a >> 8) & 0xFF) * (1 - t) + ((b >> 8) & 0xFF) * t);
+        int bl = (int) Math.round((a & 0xFF) * (1 - t) + (b & 0xFF) * t);
+        return (r << 16) | (g << 8) | bl;
+    }
+
+    /**
+     * Periodic heatmaps for batch runs: with {@code -Dheatmap=<dir>} every
+     * {@code -DheatmapEvery} days (0 = only at the end) the layers in
+     * {@code -DheatmapLayers} (default all) are written as
+     * {@code day-000042-water.png}, at most {@code -DheatmapSize} (1024) pixels.
+     */
+    public static final class Snapshots {
+        private final HeatmapRenderer renderer;
+        private final Path dir;
+        private final int every;
+        private final List<Layer> layers;
+
+        private Snapshots(HeatmapRenderer renderer, Path dir, int every, List<Layer> layers) {
+            this.renderer = renderer;
+            this.dir = dir;
+            this.every = every;
+            this.layers = layers;
+        }
+
+        /** Snapshots configured by system properties, or null when {@code -Dheatmap} is not set. */
+        public static Snapshots fromProperties(ForkJoinPool pool) {
+            String dir = System.getProperty("heatmap");
+            if (dir == null || dir.isBlank()) return null;
+            int size = parseInt(System.getProperty("heatmapSize", "1024"), 1024);
+            int every = Math.max(0, parseInt(System.getProperty("heatmapEvery", "0"), 0));
+            List<Layer> layers = Layer.parse(System.getProperty("heatmapLayers", "alive,water,temperature,pests"));
+            log.info("Writing {} heatmap(s) to {} {}", layers, dir, every > 0 ? "every " + every + " day(s)" : "at the end");
+            return new Snapshots(new HeatmapRenderer(size, pool), Path.of(dir), every, layers);
+        }
+
+        public HeatmapRenderer renderer() {
+            return renderer;
+        }
+
+        /** True if a snapshot is due after {@code daysRun} days. */
+        public boolean due(int daysRun) {
+            return every > 0 && daysRun % every == 0;
+        }
+
+        /** Renders and writes every layer for {@code day}; failures are logged, not thrown. */
+        public void write(int day, Function<Layer, BufferedImage> render) {
+            long start = System.nanoTime();
+            for (Layer layer : layers) {
+                Path file = dir.resolve(String.format("day-%06d-%s.png", day, layer.id()));
+                try {
+                    writePng(render.apply(layer), file);
+                } catch (IOException e) {
+                    log.error("Cannot write heatmap {}: {}", file, e.toString());
+                }
+            }
+            log.debug("Wrote {} heatmap(s) for day {} in {} ms", layers.size(), day,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static int parseInt(String s, int def) {
+        try { return Integer.parseInt(s); } catch (Exception e) { return def; }
+    }
+}
@@ -0,0 +1,83 @@
+package com.gardensim;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two nanosecond buckets.
+ * Recording is a couple of LongAdder increments; percentiles are reported
+ * as the upper bound of the bucket they fall in.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /** Records one sample (negative values count as zero). */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets[bucketOf(nanos)].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Bucket index of a value: bucket i holds [2^(i-1), 2^i), so a
+     * percentile reported by {@link #getPercentileNanos} maps back to the
+     * bucket it came from.
+     */
+    public static int bucketOf(long nanos) {
+        return BUCKETS - Long.numberOfLeadingZeros(Math.max(0, nanos));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalNanos.sum() / n;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Returns the approximate value at the given percentile.
+     *
+     * @param percentile value in (0, 100]
+     * @return bucket upper bound in nanoseconds, or 0 when empty
+     */
+    public long getPercentileNanos(double percentile) {
+        long n = count.sum();
+        if (n == 0) return 0;
+        long rank = (long) Math.ceil(n * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) {
+                return i == 0 ? 0 : Math.min(maxNanos.get(), (1L << i) - 1);
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /** Clears all samples. */
+    public void reset() {
+        for (LongAdder b : buckets) b.reset();
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+}
@@ -0,0 +1,306 @@
+package com.gardensim;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Headless engine over an {@link OffHeapPlantStore}, for gardens too large
+ * for the {@code List<Plant>} of {@link GardenController}. A day is one fused
+ * pass with the same rules and order as the controller's (pesticide expiry,
+ * evaporation, temperature with heating, rain with the sprinkler fallback,
+ * parasites, pesticide), run in parallel over ranges of plants.
+ *
+ * Attack rolls come from a random seeded per day and range, so a run is
+ * reproducible for any thread count. Subscriptions, snapshots and the pest
+ * spread model are not available on this backend.
+ *
+ * Run with: mvn -q -Poffheap exec:java -Dsnapshot=garden.bin -Dstore=garden.store
+ * (flags: -Ddays=30 -Dseed=42 -Dthreads=cores -Devaporation=false -DpesticideDays=7
+ *         -Dheatmap=<dir> -DheatmapEvery=0 (see HeatmapRenderer.Snapshots);
+ *         an existing -Dstore resumes from its last day, no -Dstore keeps the garden in direct buffers)
+ */
+public class OffHeapGarden {
+    private static final Logger log = LogManager.getLogger(OffHeapGarden.class);
+
+    /** Plants per parallel task. */
+    private static final int TASK_PLANTS = 1 << 18;
+
+    private static final DeathCause[] CAUSES = DeathCause.values();
+
+    private final OffHeapPlantStore store;
+    private final GardenMetrics metrics;
+    private final ForkJoinPool pool;
+    private final Random random;
+    private final long seed;
+    private boolean evaporation;
+    private int pesticideDays = GardenController.DEFAULT_PESTICIDE_DAYS;
+
+    public OffHeapGarden(OffHeapPlantStore store, GardenMetrics metrics, ForkJoinPool pool, long seed) {
+        this.store = store;
+        this.metrics = metrics;
+        this.pool = pool;
+        this.seed = seed;
+        this.random = new Random(seed);
+    }
+
+    /** Turns on daily evaporation and drought deaths (see {@link Plant#settle}). */
+    public void enableEvaporation() { this.evaporation = true; }
+
+    /** Days pesticide protects for (0 = until the end of the run). */
+    public void setPesticideDays(int pesticideDays) { this.pesticideDays = Math.max(0, pesticideDays); }
+
+    public OffHeapPlantStore getStore() { return store; }
+
+    /**
+     * Applies one day's events to every plant.
+     *
+     * @return number of plants that died
+     */
+    public int applyDay(DayEvents day) {
+        long start = System.nanoTime();
+        Pass p = plan(day);
+        store.setToday(p.today);
+
+        List<Range> ranges = new ArrayList<>();
+        for (long from = 0; from < store.size(); from += TASK_PLANTS) {
+            ranges.add(new Range(p, from, Math.min(store.size(), from + TASK_PLANTS)));
+        }
+        if (ranges.size() == 1) ranges.get(0).compute();
+        else pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(ranges);
+            }
+        });
+
+        int[] deaths = new int[CAUSES.length];
+        for (Range r : ranges) {
+            for (int k = 0; k < deaths.length; k++) deaths[k] += r.deaths[k];
+        }
+        int died = 0;
+        for (DeathCause cause : CAUSES) {
+            int d = deaths[cause.ordinal()];
+            if (d > 0) metrics.recordDeath(cause, d);
+            died += d;
+        }
+        metrics.recordTick(System.nanoTime() - start);
+        return died;
+    }
+
+    /** Number of alive plants (a parallel scan). */
+    public long countAlive() {
+        return pool.submit(() -> java.util.stream.LongStream.range(0, store.size()).parallel()
+                .filter(store::isAlive).count()).join();
+    }
+
+    /** Resolves the day's events against the garden (heating, sprinkler, vulnerable species). */
+    private Pass plan(DayEvents day) {
+        Pass p = new Pass();
+        p.today = day.getDay();
+        int days = day.getPesticideDays() != DayEvents.GARDEN_DEFAULT_DAYS ? day.getPesticideDays() : pesticideDays;
+        p.protectUntil = days <= 0 ? Integer.MAX_VALUE : (int) Math.min(Integer.MAX_VALUE - 1, (long) p.today + days - 1);
+
+        if (day.getTemperatureField() != null) {
+            p.temperatureField = checkGrid(day.getTemperatureField()).values();
+            metrics.recordEvent(GardenEventType.TEMPERATURE);
+        } else if (day.hasTemperature()) {
+            p.hasTemperature = true;
+            p.temperature = effectiveTemperature(day.getTemperature());
+            metrics.recordEvent(GardenEventType.TEMPERATURE);
+        }
+        if (day.getRainField() != null) {
+            p.rainField = checkGrid(day.getRainField()).values();
+            metrics.recordEvent(GardenEventType.RAIN);
+        } else if (day.hasRain()) {
+            p.hasWater = true;
+            p.water = effectiveWater(day.getRainfall());
+            metrics.recordEvent(GardenEventType.RAIN);
+        }
+
+        // As GardenController's FusedPass: pesticide requested before a parasite protects before it.
+        List<String> parasites = day.getParasites();
+        List<String> known = store.getParasites();
+        List<GardenSnapshotFile.Species> species = store.getSpecies();
+        p.vulnerable = new boolean[parasites.size()][species.size()];
+        p.protectBefore = new boolean[parasites.size()];
+        boolean pending = day.hasPesticide();
+        for (int k = 0; k < parasites.size(); k++) {
+            p.protectBefore[k] = random.nextBoolean() || pending;
+            pending = false;
+            int id = known.indexOf(parasites.get(k));
+            for (int s = 0; s < species.size() && id >= 0; s++) {
+                for (int v : species.get(s).parasites()) {
+                    if (v == id) p.vulnerable[k][s] = true;
+                }
+            }
+            metrics.recordEvent(GardenEventType.PARASITE);
+        }
+        p.pendingPesticide = pending;
+        if (day.hasPesticide()) metrics.recordEvent(GardenEventType.PESTICIDE);
+        return p;
+    }
+
+    private int effectiveTemperature(int t) {
+        return t < TemperatureController.LOWER_TEMPERATURE_THRESHOLD ? HeatingController.MINIMUM_SAFE_TEMPERATURE : t;
+    }
+
+    private int effectiveWater(int rain) {
+        return rain < RainController.RAINFALL_THRESHOLD ? store.getAverageWaterRequirement() : rain;
+    }
+
+    private WeatherField checkGrid(WeatherField field) {
+        if (field.getRows() != store.getRows() || field.getCols() != store.getCols()) {
+            throw new IllegalArgumentException("Weather field is " + field.getRows() + "x" + field.getCols()
+                    + " but the garden grid is " + store.getRows() + "x" + store.getCols());
+        }
+        return field;
+    }
+
+    /** The day's events, resolved once and shared read-only by every range. */
+    private static final class Pass {
+        int today;
+        boolean hasTemperature;
+        int temperature;
+        int[] temperatureField;
+        boolean hasWater;
+        int water;
+        int[] rainField;
+        boolean[][] vulnerable;
+        boolean[] protectBefore;
+        boolean pendingPesticide;
+        int protectUntil;
+    }
+
+    /** The fused pass over plants [from, to). */
+    private final class Range extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Pass p;
+        private final long from;
+        private final long to;
+        final int[] deaths = new int[CAUSES.length];
+
+        Range(Pass p, long from, long to) {
+            this.p = p;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            OffHeapPlantStore s = store;
+            SplittableRandom rnd = new SplittableRandom(seed ^ (p.today * 0x9E3779B97F4A7C15L) ^ (from * 0xBF58476D1CE4E5B9L));
+            int cols = s.getCols();
+            for (long i = from; i < to; i++) {
+                if (s.isPesticideApplied(i) && s.getPesticideUntil(i) < p.today) s.clearPesticide(i);
+                if (evaporation && s.settle(i, p.today)) deaths[DeathCause.DROUGHT.ordinal()]++;
+                boolean alive = s.isAlive(i);
+
+                if (p.hasTemperature || p.temperatureField != null) {
+                    int t = p.hasTemperature ? p.temperature
+                            : effectiveTemperature(p.temperatureField[s.getRow(i) * cols + s.getCol(i)]);
+                    if (s.adjustTemperature(i, t)) {
+                        deaths[DeathCause.TEMPERATURE.ordinal()]++;
+                        alive = false;
+                    }
+                }
+
+                if (p.hasWater || p.rainField != null) {
+                    int w = p.hasWater ? p.water : effectiveWater(p.rainField[s.getRow(i) * cols + s.getCol(i)]);
+                    if (s.water(i, w)) {
+                        deaths[DeathCause.WATER.ordinal()]++;
+                        alive = false;
+                    }
+                }
+
+                boolean[][] vulnerable = p.vulnerable;
+                for (int k = 0; k < vulnerable.length; k++) {
+                    if (p.protectBefore[k]) s.protectUntil(i, p.protectUntil);
+                    if (alive && !s.isPesticideApplied(i) && vulnerable[k][s.getSpecies(i)]
+                            && rnd.nextDouble() < PestAttackController.ATTACK_PROBABILITY) {
+                        s.setAlive(i, false);
+                        deaths[DeathCause.PEST.ordinal()]++;
+                        alive = false;
+                    }
+                }
+                if (p.pendingPesticide) s.protectUntil(i, p.protectUntil);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String snapshot = System.getProperty("snapshot");
+        String storeFile = System.getProperty("store");
+        int days = parseInt(System.getProperty("days", "30"), 30);
+        long seed = parseLong(System.getProperty("seed", "42"), 42L);
+        int threads = parseInt(System.getProperty("threads", ""), Runtime.getRuntime().availableProcessors());
+        boolean evaporation = Boolean.parseBoolean(System.getProperty("evaporation", "false"));
+        int pesticideDays = parseInt(System.getProperty("pesticideDays", "7"), 7); // 0 = forever, as in GardenSimulator
+
+        long start = System.nanoTime();
+        OffHeapPlantStore store;
+        Path file = storeFile == null || storeFile.isBlank() ? null : Path.of(storeFile);
+        if (file != null && Files.exists(file)) {
+            store = OffHeapPlantStore.open(file);
+            log.info("Opened {} ({} plant(s), day {}) in {} ms", file, store.size(), store.getToday(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } else if (snapshot != null && !snapshot.isBlank()) {
+            store = OffHeapPlantStore.importSnapshot(Path.of(snapshot), file);
+            log.info("Imported {} plant(s) from {} into {} in {} ms", store.size(), snapshot,
+                    file == null ? "direct buffers" : file, (System.nanoTime() - start) / 1_000_000);
+        } else {
+            log.error("Nothing to run: pass -Dsnapshot=<garden.bin> and/or an existing -Dstore=<file>.");
+            System.exit(1);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try (store) {
+            GardenMetrics metrics = new GardenMetrics();
+            OffHeapGarden garden = new OffHeapGarden(store, metrics, pool, seed);
+            if (evaporation) garden.enableEvaporation();
+            garden.setPesticideDays(pesticideDays);
+            int first = store.getToday() + 1;
+            RandomWeather weather = new RandomWeather(new Random(seed ^ first), store.getParasites());
+            DayEvents today = new DayEvents();
+
+            HeatmapRenderer.Snapshots heatmaps = HeatmapRenderer.Snapshots.fromProperties(pool);
+
+            start = System.nanoTime();
+            for (int day = first; day < first + days; day++) {
+                garden.applyDay(weather.next(day, today));
+                if (heatmaps != null && (heatmaps.due(day - first + 1) || day == first + days - 1)) {
+                    heatmaps.write(day, layer -> heatmaps.renderer().render(layer, store));
+                }
+            }
+            double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+
+            Runtime rt = Runtime.getRuntime();
+            log.info("Days {}..{}: {} days/s, {} plant-days/s, p99 tick {} ms; {} of {} plant(s) alive; heap used {} MiB",
+                    first, first + days - 1, String.format("%.2f", days / seconds),
+                    String.format("%.3g", store.size() * (double) days / seconds),
+                    metrics.getTickLatency().getPercentileNanos(99) / 1_000_000,
+                    garden.countAlive(), store.size(), (rt.totalMemory() - rt.freeMemory()) >> 20);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int parseInt(String s, int def) {
+        try { return Integer.parseInt(s); } catch (Exception e) { return def; }
+    }
+
+    private static long parseLong(String s, long def) {
+        try { return Long.parseLong(s); } catch (Exception e) { return def; }
+    }
+}
@@ -0,0 +1,412 @@
+package com.gardensim;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plant state kept off the Java heap, one column per field (water,
+ * temperature, pesticide expiry, evaporation clock, dry-since day, row, col,
+ * species id, flags), in chunks of {@link #CHUNK_PLANTS} plants. The
+ * columns live in direct buffers, or in a memory-mapped file so a garden can
+ * be larger than the heap and a restart just maps the file again. Species
+ * (names, water requirements, parasites) are few and stay on the heap.
+ *
+ * The per-plant operations mirror {@link Plant} ({@link #water},
+ * {@link #adjustTemperature}, {@link #settle}, {@link #protectUntil}), so
+ * {@link OffHeapGarden} applies the same rules as {@link GardenController}.
+ * Not thread-safe per plant; callers split the plants into disjoint ranges.
+ *
+ * File layout (little-endian): a 4 KiB header (int magic 'GOH1', int version,
+ * long plantCount, int rows, int cols, int today, int averageWaterRequirement,
+ * long speciesOffset, int speciesBytes), each column page-aligned in turn,
+ * then the species table.
+ */
+public final class OffHeapPlantStore implements AutoCloseable {
+    public static final int MAGIC = 0x31484F47; // "GOH1" little-endian
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4096;
+
+    static final int CHUNK_SHIFT = 22;
+    public static final int CHUNK_PLANTS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_PLANTS - 1;
+
+    private static final int WATER = 0, TEMPERATURE = 1, PESTICIDE_UNTIL = 2, LAST_UPDATED = 3, DRY_SINCE = 4,
+            ROW = 5, COL = 6, SPECIES = 7, FLAGS = 8;
+    private static final int[] WIDTHS = {4, 4, 4, 4, 4, 4, 4, 2, 1};
+
+    private static final byte ALIVE = 1;
+    private static final byte PESTICIDE = 2;
+
+    private final long size;
+    private final int rows;
+    private final int cols;
+    private final List<String> parasites;
+    private final List<GardenSnapshotFile.Species> species;
+    private final int[] evaporationRate;
+    private final ByteBuffer[][] columns;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private int today;
+    private int averageWaterRequirement;
+
+    private OffHeapPlantStore(long size, int rows, int cols, List<String> parasites,
+                              List<GardenSnapshotFile.Species> species, ByteBuffer[][] columns,
+                              FileChannel channel, MappedByteBuffer header) {
+        this.size = size;
+        this.rows = rows;
+        this.cols = cols;
+        this.parasites = List.copyOf(parasites);
+        this.species = List.copyOf(species);
+        this.evaporationRate = new int[species.size()];
+        for (int s = 0; s < evaporationRate.length; s++) {
+            evaporationRate[s] = Plant.evaporationRate(species.get(s).waterRequirement());
+        }
+        this.columns = columns;
+        this.channel = channel;
+        this.header = header;
+    }
+
+    /**
+     * Creates an empty store (all plants dead, zeroed) for {@code size} plants.
+     *
+     * @param file file to map, truncated; null keeps the columns in direct buffers
+     */
+    public static OffHeapPlantStore create(Path file, long size, int rows, int cols, List<String> parasites,
+                                           List<GardenSnapshotFile.Species> species) throws IOException {
+        if (species.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many species for the 16-bit species column: " + species.size());
+        }
+        int chunks = chunks(size);
+        ByteBuffer[][] columns = new ByteBuffer[WIDTHS.length][chunks];
+        if (file == null) {
+            for (int c = 0; c < WIDTHS.length; c++) {
+                for (int k = 0; k < chunks; k++) {
+                    columns[c][k] = ByteBuffer.allocateDirect(chunkBytes(size, k, WIDTHS[c])).order(ByteOrder.LITTLE_ENDIAN);
+                }
+            }
+            return new OffHeapPlantStore(size, rows, cols, parasites, species, columns, null, null);
+        }
+
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            long speciesOffset = mapColumns(ch, size, columns);
+            byte[] table = speciesTable(parasites, species);
+            ch.write(ByteBuffer.wrap(table), speciesOffset);
+            MappedByteBuffer header = (MappedByteBuffer) ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, size).putInt(16, rows).putInt(20, cols)
+                    .putInt(24, 0).putInt(28, 0).putLong(32, speciesOffset).putInt(40, table.length);
+            return new OffHeapPlantStore(size, rows, cols, parasites, species, columns, ch, header);
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /** Maps an existing store file, resuming at the day it was last flushed on. */
+    public static OffHeapPlantStore open(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer header = (MappedByteBuffer) ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException(file + " is not a plant store");
+            }
+            long size = header.getLong(8);
+            ByteBuffer table = ByteBuffer.allocate(header.getInt(40));
+            for (long pos = header.getLong(32); table.hasRemaining(); ) {
+                int n = ch.read(table, pos);
+                if (n < 0) throw new IOException(file + " is truncated: species table ends early");
+                pos += n;
+            }
+
+            List<String> parasites = new ArrayList<>();
+            List<GardenSnapshotFile.Species> species = new ArrayList<>();
+            readSpeciesTable(table.array(), parasites, species);
+
+            ByteBuffer[][] columns = new ByteBuffer[WIDTHS.length][chunks(size)];
+            mapColumns(ch, size, columns);
+            OffHeapPlantStore store = new OffHeapPlantStore(size, header.getInt(16), header.getInt(20),
+                    parasites, species, columns, ch, header);
+            store.today = header.getInt(24);
+            store.averageWaterRequirement = header.getInt(28);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Streams a binary snapshot ({@link GardenSnapshotFile}) into a new store;
+     * only one block of the snapshot is in memory at a time.
+     *
+     * @param file file to map, truncated; null keeps the columns in direct buffers
+     */
+    public static OffHeapPlantStore importSnapshot(Path snapshot, Path file) throws IOException {
+        OffHeapPlantStore[] store = new OffHeapPlantStore[1];
+        long[] totalRequirement = new long[1];
+        try {
+            GardenSnapshotFile.read(snapshot, new GardenSnapshotFile.PlantVisitor() {
+                private long next;
+
+                @Override
+                public void header(GardenSnapshotFile.Header h) {
+                    try {
+                        store[0] = create(file, h.plantCount(), h.rows(), h.cols(), h.parasites(), h.species());
+                    } catch (IOException e) {
+                        throw new java.io.UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public void plant(int s, int row, int col, int water, short flags) {
+                    OffHeapPlantStore st = store[0];
+                    long i = next++;
+                    st.putShort(SPECIES, i, (short) s);
+                    st.putInt(ROW, i, row);
+                    st.putInt(COL, i, col);
+                    st.putInt(WATER, i, water);
+                    st.putInt(TEMPERATURE, i, st.species.get(s).temperature());
+                    st.putInt(PESTICIDE_UNTIL, i, Integer.MAX_VALUE);
+                    st.putInt(LAST_UPDATED, i, -1);
+                    st.putInt(DRY_SINCE, i, -1);
+                    byte f = 0;
+                    if ((flags & GardenSnapshotFile.FLAG_ALIVE) != 0) f |= ALIVE;
+                    if ((flags & GardenSnapshotFile.FLAG_PESTICIDE) != 0) f |= PESTICIDE;
+                    st.putByte(FLAGS, i, f);
+                    totalRequirement[0] += st.species.get(s).waterRequirement();
+                }
+            });
+        } catch (java.io.UncheckedIOException e) {
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            if (store[0] != null) store[0].close();
+            throw e;
+        }
+        OffHeapPlantStore st = store[0];
+        // As SprinklerController#calculateAverageWaterRequirement.
+        st.averageWaterRequirement = st.size == 0 ? 0 : (int) (totalRequirement[0] / st.size);
+        st.flush();
+        return st;
+    }
+
+    // ----- Garden-wide state -----
+
+    public long size() { return size; }
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public List<String> getParasites() { return parasites; }
+    public List<GardenSnapshotFile.Species> getSpecies() { return species; }
+    public int getAverageWaterRequirement() { return averageWaterRequirement; }
+
+    /** Last simulated day applied (persisted on {@link #flush}). */
+    public int getToday() { return today; }
+    public void setToday(int today) { this.today = today; }
+
+    /** Number of chunks; plants of chunk k are [k * CHUNK_PLANTS, min(size, (k + 1) * CHUNK_PLANTS)). */
+    public int chunkCount() { return columns[0].length; }
+
+    // ----- Per-plant state -----
+
+    public int getWater(long i) { return getInt(WATER, i); }
+    public int getTemperature(long i) { return getInt(TEMPERATURE, i); }
+    public int getPesticideUntil(long i) { return getInt(PESTICIDE_UNTIL, i); }
+    public int getRow(long i) { return getInt(ROW, i); }
+    public int getCol(long i) { return getInt(COL, i); }
+    public int getSpecies(long i) { return getShort(SPECIES, i); }
+    public boolean isAlive(long i) { return (getByte(FLAGS, i) & ALIVE) != 0; }
+    public boolean isPesticideApplied(long i) { return (getByte(FLAGS, i) & PESTICIDE) != 0; }
+
+    public void setAlive(long i, boolean alive) { setFlag(i, ALIVE, alive); }
+
+    /** Ends a plant's pesticide protection (see {@link GardenController}'s expiry). */
+    public void clearPesticide(long i) {
+        setFlag(i, PESTICIDE, false);
+        putInt(PESTICIDE_UNTIL, i, Integer.MAX_VALUE);
+    }
+
+    // ----- Plant rules (see Plant) -----
+
+    /** As {@link Plant#water}: adds water; more than twice the requirement kills. Returns true if it died. */
+    public boolean water(long i, int amount) {
+        int level = getInt(WATER, i) + amount;
+        putInt(WATER, i, level);
+        if (level > 0) putInt(DRY_SINCE, i, -1);
+        if (level > species.get(getShort(SPECIES, i)).waterRequirement() * 2 && isAlive(i)) {
+            setAlive(i, false);
+            return true;
+        }
+        return false;
+    }
+
+    /** As {@link Plant#adjustTemperature}: below 40 or above 120 °F kills. Returns true if it died. */
+    public boolean adjustTemperature(long i, int temperature) {
+        putInt(TEMPERATURE, i, temperature);
+        if ((temperature < Plant.MIN_SURVIVABLE_TEMPERATURE || temperature > Plant.MAX_SURVIVABLE_TEMPERATURE)
+                && isAlive(i)) {
+            setAlive(i, false);
+            return true;
+        }
+        return false;
+    }
+
+    /** As {@link Plant#settle}: closed-form evaporation up to {@code day}. Returns true if it died of drought. */
+    public boolean settle(long i, int day) {
+        int last = getInt(LAST_UPDATED, i);
+        if (day <= last) return false;
+        putInt(LAST_UPDATED, i, day);
+        if (last < 0 || !isAlive(i)) return false;
+
+        int rate = evaporationRate[getShort(SPECIES, i)];
+        int level = getInt(WATER, i);
+        long loss = (long) (day - last) * rate;
+        if (level > loss) {
+            putInt(WATER, i, level - (int) loss);
+            return false;
+        }
+        int drySince = getInt(DRY_SINCE, i);
+        if (drySince < 0) {
+            drySince = last + (level + rate - 1) / rate;
+            putInt(DRY_SINCE, i, drySince);
+        }
+        putInt(WATER, i, 0);
+        if (day - drySince > Plant.DROUGHT_TOLERANCE_DAYS) {
+            setAlive(i, false);
+            return true;
+        }
+        return false;
+    }
+
+    /** As {@link PesticideController#protectUntil}. Returns true if the protection was applied or extended. */
+    public boolean protectUntil(long i, int until) {
+        if (!isAlive(i)) return false;
+        if (isPesticideApplied(i) && getInt(PESTICIDE_UNTIL, i) >= until) return false;
+        setFlag(i, PESTICIDE, true);
+        putInt(PESTICIDE_UNTIL, i, until);
+        return true;
+    }
+
+    /** Writes the header and forces mapped columns to disk (no-op for direct buffers). */
+    public void flush() {
+        if (header == null) return;
+        header.putInt(24, today).putInt(28, averageWaterRequirement);
+        header.force();
+        for (ByteBuffer[] column : columns) {
+            for (ByteBuffer chunk : column) ((MappedByteBuffer) chunk).force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            flush();
+            channel.close();
+        }
+    }
+
+    // ----- Column access -----
+
+    private int getInt(int column, long i) {
+        return columns[column][(int) (i >>> CHUNK_SHIFT)].getInt(((int) i & CHUNK_MASK) << 2);
+    }
+
+    private void putInt(int column, long i, int v) {
+        columns[column][(int) (i >>> CHUNK_SHIFT)].putInt(((int) i & CHUNK_MASK) << 2, v);
+    }
+
+    private int getShort(int column, long i) {
+        return columns[column][(int) (i >>> CHUNK_SHIFT)].getShort(((int) i & CHUNK_MASK) << 1);
+    }
+
+    private void putShort(int column, long i, short v) {
+        columns[column][(int) (i >>> CHUNK_SHIFT)].putShort(((int) i & CHUNK_MASK) << 1, v);
+    }
+
+    private byte getByte(int column, long i) {
+        return columns[column][(int) (i >>> CHUNK_SHIFT)].get((int) i & CHUNK_MASK);
+    }
+
+    private void putByte(int column, long i, byte v) {
+        columns[column][(int) (i >>> CHUNK_SHIFT)].put((int) i & CHUNK_MASK, v);
+    }
+
+    private void setFlag(long i, byte flag, boolean on) {
+        byte f = getByte(FLAGS, i);
+        putByte(FLAGS, i, (byte) (on ? f | flag : f & ~flag));
+    }
+
+    // ----- Layout -----
+
+    private static int chunks(long size) {
+        return (int) ((size + CHUNK_PLANTS - 1) >>> CHUNK_SHIFT);
+    }
+
+    private static int chunkBytes(long size, int chunk, int width) {
+        long plants = Math.min(CHUNK_PLANTS, size - ((long) chunk << CHUNK_SHIFT));
+        return (int) (plants * width);
+    }
+
+    /** Maps every column chunk; returns the offset just past the last column (where the species table goes). */
+    private static long mapColumns(FileChannel ch, long size, ByteBuffer[][] columns) throws IOException {
+        long offset = HEADER_BYTES;
+        for (int c = 0; c < WIDTHS.length; c++) {
+            for (int k = 0; k < columns[c].length; k++) {
+                int bytes = chunkBytes(size, k, WIDTHS[c]);
+                columns[c][k] = ch.map(FileChannel.MapMode.READ_WRITE, offset + ((long) k << CHUNK_SHIFT) * WIDTHS[c], bytes)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            }
+            offset += align(size * WIDTHS[c]);
+        }
+        return offset;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + HEADER_BYTES - 1) / HEADER_BYTES * HEADER_BYTES;
+    }
+
+    private static byte[] speciesTable(List<String> parasites, List<GardenSnapshotFile.Species> species) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(parasites.size());
+            for (String p : parasites) out.writeUTF(p);
+            out.writeInt(species.size());
+            for (GardenSnapshotFile.Species s : species) {
+                out.writeUTF(s.name());
+                out.writeInt(s.waterRequirement());
+                out.writeInt(s.temperature());
+                out.writeInt(s.parasites().length);
+                for (int p : s.parasites()) out.writeInt(p);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void readSpeciesTable(byte[] table, List<String> parasites,
+                                         List<GardenSnapshotFile.Species> species) throws IOException {
+        try (DataInputStream in = new DataInputStream(new java.io.ByteArrayInputStream(table))) {
+            int n = in.readInt();
+            for (int i = 0; i < n; i++) parasites.add(in.readUTF());
+            n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                String name = in.readUTF();
+                int water = in.readInt();
+                int temperature = in.readInt();
+                int[] vulnerable = new int[in.readInt()];
+                for (int k = 0; k < vulnerable.length; k++) vulnerable[k] = in.readInt();
+                species.add(new GardenSnapshotFile.Species(name, water, temperature, vulnerable));
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.gardensim;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed-rate pacing for real-time runs. Tick deadlines are
+ * {@code start + n * period} on the monotonic clock, so the rate does not
+ * drift with the time each tick takes. A tick that starts late is followed
+ * immediately by the next ones until the schedule is met again, but never
+ * more than {@code maxBurst} back to back: beyond that the backlog is
+ * written off (counted as skipped periods) rather than run as one long burst.
+ * Lag and skips are recorded in {@link GardenMetrics}.
+ */
+public class Pacer {
+    private final long periodNanos;
+    private final int maxBurst;
+    private final GardenMetrics metrics;
+
+    /** Deadline of the next tick; 0 until the first tick. */
+    private long next;
+    private long ticks;
+    private long lateTicks;
+    private long skipped;
+
+    /**
+     * @param ticksPerSecond target rate (e.g. simulated days per second)
+     * @param maxBurst       most ticks run back to back when catching up
+     */
+    public Pacer(double ticksPerSecond, int maxBurst, GardenMetrics metrics) {
+        if (!(ticksPerSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be positive, got " + ticksPerSecond);
+        }
+        this.periodNanos = Math.max(1L, Math.round(1e9 / ticksPerSecond));
+        this.maxBurst = Math.max(1, maxBurst);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Waits until the next tick is due (returns at once when behind).
+     *
+     * @return false if the thread was interrupted while waiting
+     */
+    public boolean awaitTick() {
+        long now = System.nanoTime();
+        if (ticks == 0) next = now;
+
+        long lag = now - next;
+        if (lag > 0) {
+            lateTicks++;
+            long behind = lag / periodNanos;
+            if (behind > maxBurst) {
+                long drop = behind - maxBurst;
+                next += drop * periodNanos;
+                skipped += drop;
+                metrics.recordSkippedPeriods(drop);
+            }
+            metrics.recordTickLag(lag);
+        } else {
+            while (now < next) {
+                LockSupport.parkNanos(next - now);
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                now = System.nanoTime();
+            }
+            metrics.recordTickLag(now - next);
+        }
+        next += periodNanos;
+        ticks++;
+        return true;
+    }
+
+    public long getPeriodNanos() { return periodNanos; }
+    public long getTicks() { return ticks; }
+    public long getLateTicks() { return lateTicks; }
+    public long getSkippedPeriods() { return skipped; }
+
+    @Override
+    public String toString() {
+        return "Pacer{period=" + periodNanos / 1_000 + "us, ticks=" + ticks + ", late=" + lateTicks
+                + ", skipped=" + skipped + '}';
+    }
+}
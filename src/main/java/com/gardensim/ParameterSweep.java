@@ -0,0 +1,329 @@
+package com.gardensim;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sweeps {@link GardenSimulator}'s weather parameters (pest probability,
+ * rain probability and amounts, temperature range) over a grid to find
+ * survival cliffs. Points run in parallel in one JVM, each on its own
+ * garden, and every (point, seed) result is cached on disk under a SHA-256
+ * of the config contents, the parameters, the seed and the run settings,
+ * so reruns and extended grids only compute new points.
+ *
+ * With {@code refine > 0}, neighbouring points along one parameter whose
+ * survival differs by more than {@code steep} get a midpoint, for up to
+ * {@code refine} rounds, concentrating points on the cliffs.
+ *
+ * Each parameter flag takes a value, a list ("0.1,0.3") or a range
+ * ("from:to:step"). Run with: mvn -q -Psweep exec:java -Dpest=0:1:0.1
+ * (flags: -Dpest=0.3 -DrainProb=0.5 -DrainMin=1 -DrainMax=5 -DtempMin=50 -DtempMax=95
+ *         -Ddays=365 -Dseeds=3 -Dseed=42 -Dconfig=/config.json -Devaporation=false -DpesticideDays=7
+ *         -Dthreads=0 -Drefine=0 -Dsteep=0.25 -DcacheDir=.sweep-cache -Dout=sweep.csv)
+ */
+public class ParameterSweep {
+    private static final Logger log = LogManager.getLogger(ParameterSweep.class);
+
+    /** Swept parameters, in point order; the last four are whole numbers. */
+    static final String[] PARAMS = {"pest", "rainProb", "rainMin", "rainMax", "tempMin", "tempMax"};
+    private static final String[] DEFAULTS = {"0.3", "0.5", "1", "5", "50", "95"};
+
+    /** Bump when the simulation changes in a way that invalidates cached results. */
+    private static final String CACHE_VERSION = "1";
+
+    private final String config;
+    private final String configHash;
+    private final int days;
+    private final int seeds;
+    private final long seed;
+    private final boolean evaporation;
+    private final int pesticideDays;
+    private final Path cacheDir;
+    private final ExecutorService pool;
+
+    /** Survival per point, averaged over seeds; keyed by {@link #label}. */
+    private final Map<String, Double> results = new LinkedHashMap<>();
+    private int computed;
+    private int cached;
+
+    ParameterSweep(String config, int days, int seeds, long seed, boolean evaporation, int pesticideDays,
+                   Path cacheDir, int threads) throws IOException {
+        this.config = config;
+        this.configHash = sha256(readConfig(config));
+        this.days = days;
+        this.seeds = Math.max(1, seeds);
+        this.seed = seed;
+        this.evaporation = evaporation;
+        this.pesticideDays = pesticideDays;
+        this.cacheDir = Files.createDirectories(cacheDir);
+        this.pool = Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<double[]> axes = new ArrayList<>();
+        for (int p = 0; p < PARAMS.length; p++) {
+            axes.add(parseValues(System.getProperty(PARAMS[p], DEFAULTS[p]), p >= 2));
+        }
+        int refine = parseInt(System.getProperty("refine", "0"), 0);
+        double steep = parseDouble(System.getProperty("steep", "0.25"), 0.25);
+        Path out = Path.of(System.getProperty("out", "sweep.csv"));
+
+        ParameterSweep sweep = new ParameterSweep(
+                System.getProperty("config", "/config.json"),
+                parseInt(System.getProperty("days", "365"), 365),
+                parseInt(System.getProperty("seeds", "3"), 3),
+                parseLong(System.getProperty("seed", "42"), 42L),
+                Boolean.parseBoolean(System.getProperty("evaporation", "false")),
+                parseInt(System.getProperty("pesticideDays", "7"), 7),
+                Path.of(System.getProperty("cacheDir", ".sweep-cache")),
+                parseInt(System.getProperty("threads", "0"), 0));
+        try {
+            long start = System.nanoTime();
+            List<double[]> points = grid(axes);
+            sweep.evaluate(points);
+            for (int round = 1; round <= refine; round++) {
+                List<double[]> extra = sweep.refinements(steep);
+                if (extra.isEmpty()) break;
+                log.info("Refinement round {}: {} new point(s) around steep regions", round, extra.size());
+                sweep.evaluate(extra);
+            }
+            sweep.writeCsv(out);
+            log.info("Swept {} point(s) x {} seed(s) in {} s ({} computed, {} from cache) -> {}",
+                    sweep.results.size(), sweep.seeds, String.format("%.1f", (System.nanoTime() - start) / 1e9),
+                    sweep.computed, sweep.cached, out);
+        } finally {
+            sweep.pool.shutdown();
+        }
+    }
+
+    /** Runs (or loads from the cache) every seed of every point, in parallel. */
+    void evaluate(List<double[]> points) throws InterruptedException, ExecutionException {
+        List<double[]> todo = new ArrayList<>();
+        for (double[] p : points) {
+            if (!results.containsKey(label(p))) todo.add(p);
+        }
+        List<Future<Double>> futures = new ArrayList<>(todo.size() * seeds);
+        for (double[] p : todo) {
+            for (int s = 0; s < seeds; s++) {
+                long runSeed = seed + s;
+                futures.add(pool.submit(() -> survival(p, runSeed)));
+            }
+        }
+        for (int i = 0; i < todo.size(); i++) {
+            double sum = 0;
+            for (int s = 0; s < seeds; s++) sum += futures.get(i * seeds + s).get();
+            results.put(label(todo.get(i)), sum / seeds);
+        }
+    }
+
+    /** Survival fraction of one seeded run, from the cache when present. */
+    private double survival(double[] point, long runSeed) throws IOException {
+        String key = cacheKey(point, runSeed);
+        Path file = cacheDir.resolve(key + ".json");
+        if (Files.isRegularFile(file)) {
+            try {
+                double v = new JSONObject(Files.readString(file, StandardCharsets.UTF_8)).getDouble("survival");
+                synchronized (this) { cached++; }
+                return v;
+            } catch (Exception e) {
+                log.warn("Ignoring unreadable cache entry {}: {}", file, e.toString());
+            }
+        }
+
+        double v = simulate(point, runSeed);
+        JSONObject entry = new JSONObject().put("survival", v).put("seed", runSeed).put("days", days)
+                .put("config", config).put("params", label(point));
+        // Write then rename, so a concurrent or interrupted run never sees half a file.
+        Path tmp = Files.createTempFile(cacheDir, key, ".tmp");
+        Files.writeString(tmp, entry.toString(), StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        synchronized (this) { computed++; }
+        return v;
+    }
+
+    private double simulate(double[] p, long runSeed) throws IOException {
+        GardenSimulatorAPI api = new GardenSimulatorAPI();
+        api.setMetrics(new GardenMetrics());
+        api.setShards(1); // parallelism comes from running many points at once
+        api.initializeGardenFromResourceOrFile(config);
+        api.setSeed(runSeed);
+        api.setPesticideDays(pesticideDays);
+        if (evaporation) api.enableEvaporation();
+
+        RandomWeather weather = new RandomWeather(new Random(runSeed), api.getKnownParasiteNames())
+                .pestProb(p[0]).rainProb(p[1]).rainRange((int) p[2], (int) p[3]).tempRange((int) p[4], (int) p[5]);
+        DayEvents today = new DayEvents();
+        for (int d = 1; d <= days; d++) api.applyDay(weather.next(d, today));
+
+        GardenSnapshot s = api.getSnapshot();
+        int total = s.alive().size() + s.dead().size();
+        return total == 0 ? 0 : (double) s.alive().size() / total;
+    }
+
+    /**
+     * Midpoints between neighbours along one parameter (all others equal)
+     * whose survival differs by more than {@code steep}.
+     */
+    List<double[]> refinements(double steep) {
+        List<double[]> points = new ArrayList<>();
+        for (String label : results.keySet()) points.add(parseLabel(label));
+
+        Map<String, double[]> extra = new LinkedHashMap<>();
+        for (int axis = 0; axis < PARAMS.length; axis++) {
+            final int a = axis;
+            Map<String, List<double[]>> lines = new HashMap<>();
+            for (double[] p : points) {
+                double[] rest = p.clone();
+                rest[a] = Double.NaN;
+                lines.computeIfAbsent(Arrays.toString(rest), k -> new ArrayList<>()).add(p);
+            }
+            for (List<double[]> line : lines.values()) {
+                line.sort(Comparator.comparingDouble(p -> p[a]));
+                for (int i = 1; i < line.size(); i++) {
+                    double[] lo = line.get(i - 1), hi = line.get(i);
+                    if (Math.abs(results.get(label(hi)) - results.get(label(lo))) <= steep) continue;
+                    double mid = (lo[a] + hi[a]) / 2;
+                    if (a >= 2) mid = Math.floor(mid);
+                    if (mid <= lo[a] || mid >= hi[a]) continue; // already as fine as it gets
+                    double[] m = lo.clone();
+                    m[a] = mid;
+                    if (!results.containsKey(label(m))) extra.put(label(m), m);
+                }
+            }
+        }
+        return new ArrayList<>(extra.values());
+    }
+
+    void writeCsv(Path out) throws IOException {
+        List<double[]> points = new ArrayList<>();
+        for (String label : results.keySet()) points.add(parseLabel(label));
+        points.sort((x, y) -> Arrays.compare(x, y));
+        try (Writer w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            w.write(String.join(",", PARAMS) + ",survival\n");
+            for (double[] p : points) {
+                w.write(label(p) + "," + String.format(Locale.ROOT, "%.4f", results.get(label(p))) + "\n");
+            }
+        }
+    }
+
+    private String cacheKey(double[] point, long runSeed) {
+        String id = String.join("|", CACHE_VERSION, configHash, label(point), Long.toString(runSeed),
+                Integer.toString(days), Boolean.toString(evaporation), Integer.toString(pesticideDays));
+        return sha256(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Canonical "pest,rainProb,..." text of a point (used for cache keys and the CSV). */
+    static String label(double[] p) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < p.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(i >= 2 ? Long.toString((long) p[i]) : trim(p[i]));
+        }
+        return sb.toString();
+    }
+
+    private static String trim(double v) {
+        String s = String.format(Locale.ROOT, "%.6f", v);
+        s = s.replaceAll("0+$", "");
+        return s.endsWith(".") ? s.substring(0, s.length() - 1) : s;
+    }
+
+    private static double[] parseLabel(String label) {
+        String[] parts = label.split(",");
+        double[] p = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) p[i] = Double.parseDouble(parts[i]);
+        return p;
+    }
+
+    /** Cartesian product of the axes. */
+    static List<double[]> grid(List<double[]> axes) {
+        List<double[]> points = new ArrayList<>();
+        points.add(new double[axes.size()]);
+        for (int a = 0; a < axes.size(); a++) {
+            List<double[]> next = new ArrayList<>(points.size() * axes.get(a).length);
+            for (double[] p : points) {
+                for (double v : axes.get(a)) {
+                    double[] q = p.clone();
+                    q[a] = v;
+                    next.add(q);
+                }
+            }
+            points = next;
+        }
+        return points;
+    }
+
+    /** Parses "v", "v1,v2,..." or "from:to:step". */
+    static double[] parseValues(String s, boolean whole) {
+        List<Double> values = new ArrayList<>();
+        for (String part : s.split(",")) {
+            String[] range = part.trim().split(":");
+            if (range.length == 3) {
+                double from = Double.parseDouble(range[0]), to = Double.parseDouble(range[1]);
+                double step = Math.abs(Double.parseDouble(range[2]));
+                if (step == 0) throw new IllegalArgumentException("zero step in " + part);
+                long n = (long) Math.floor((to - from) / step + 1e-9);
+                for (long i = 0; i <= n; i++) values.add(from + i * step);
+            } else {
+                values.add(Double.parseDouble(part.trim()));
+            }
+        }
+        return values.stream().mapToDouble(v -> whole ? Math.rint(v) : Math.round(v * 1e6) / 1e6)
+                .distinct().sorted().toArray();
+    }
+
+    /** The config's bytes, from the classpath or else the file system (as {@link GardenSimulatorAPI#initializeGardenFromResourceOrFile}). */
+    private static byte[] readConfig(String path) throws IOException {
+        String normalized = path.startsWith("/") ? path : "/" + path;
+        try (InputStream is = ParameterSweep.class.getResourceAsStream(normalized)) {
+            if (is != null) return is.readAllBytes();
+        }
+        Path file = Path.of(path);
+        return Files.isRegularFile(file) ? Files.readAllBytes(file) : new byte[0];
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int parseInt(String s, int def) {
+        try { return Integer.parseInt(s); } catch (Exception e) { return def; }
+    }
+
+    private static long parseLong(String s, long def) {
+        try { return Long.parseLong(s); } catch (Exception e) { return def; }
+    }
+
+    private static double parseDouble(String s, double def) {
+        try { return Double.parseDouble(s); } catch (Exception e) { return def; }
+    }
+}
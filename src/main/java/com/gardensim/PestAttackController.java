@@ -13,13 +13,52 @@ public class PestAttackController {
     private static final Logger log = LogManager.getLogger(PestAttackController.class);
 
     /** Random generator for attack outcomes. */
-    private final Random random = new Random();
+    private final Random random;
 
     /** Tracks whether any plant was affected in the latest attack. */
     private boolean pestAttacked = false;
 
     /** Probability that a vulnerable plant will be killed by a pest attack. */
-    private static final double ATTACK_PROBABILITY = 0.25;
+    static final double ATTACK_PROBABILITY = 0.25;
+
+    /** Outcomes of {@link #attack}. */
+    public static final int NOT_AFFECTED = 0;
+    public static final int RESISTED = 1;
+    public static final int KILLED = 2;
+
+    private final GardenMetrics metrics;
+
+    public PestAttackController() {
+        this(GardenMetrics.shared());
+    }
+
+    public PestAttackController(GardenMetrics metrics) {
+        this(metrics, new Random());
+    }
+
+    public PestAttackController(GardenMetrics metrics, Random random) {
+        this.metrics = metrics;
+        this.random = random;
+    }
+
+    /**
+     * Attacks a single plant without logging (used by fused day passes).
+     *
+     * @param plant        the plant to attack
+     * @param selectedPest the pest type
+     * @return {@link #NOT_AFFECTED} (dead, protected or not vulnerable),
+     *         {@link #RESISTED} or {@link #KILLED}
+     */
+    public int attack(Plant plant, String selectedPest) {
+        if (!plant.isAlive() || plant.isPesticideApplied() || !plant.getParasites().contains(selectedPest)) {
+            return NOT_AFFECTED;
+        }
+        if (random.nextDouble() < ATTACK_PROBABILITY) {
+            plant.setAlive(false);
+            return KILLED;
+        }
+        return RESISTED;
+    }
 
     /**
      * Simulates a pest attack on the provided list of plants.
@@ -28,17 +67,23 @@ public class PestAttackController {
      * @param plants       list of plants in the garden
      */
     public void simulatePestAttack(String selectedPest, List<Plant> plants) {
+        PhaseEvents.PestAttack event = new PhaseEvents.PestAttack();
+        event.begin();
         log.info("Simulating pest attack: {}", selectedPest);
+        metrics.recordEvent(GardenEventType.PARASITE);
         pestAttacked = false;
+        int hit = 0;
 
         for (Plant plant : plants) {
             if (plant.getParasites().contains(selectedPest)) {
                 pestAttacked = true;
+                hit++;
 
                 if (plant.isPesticideApplied()) {
                     log.info("Pesticide protects {} from the {} pest attack.", plant.getName(), selectedPest);
                 } else {
                     if (random.nextDouble() < ATTACK_PROBABILITY) {
+                        if (plant.isAlive()) metrics.recordDeath(DeathCause.PEST);
                         plant.setAlive(false);
                         log.warn("Plant {} has been killed by a {} pest attack.", plant.getName(), selectedPest);
                     } else {
@@ -51,5 +96,10 @@ public class PestAttackController {
         if (!pestAttacked) {
             log.info("Pest {} did not affect any plants.", selectedPest);
         }
+
+        event.gardenSize = plants.size();
+        event.affected = hit;
+        event.pest = selectedPest;
+        event.commit();
     }
 }
@@ -0,0 +1,176 @@
+package com.gardensim;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Pest diffusion over the garden grid as a cellular automaton.
+ *
+ * Populations live in two row-major int buffers. Each {@link #step()} every
+ * cell keeps part of its population, receives a share from its four
+ * neighbours, grows by {@link #growthPermille} and is capped at
+ * {@link #capacity}. Cells are computed by pulling from the previous buffer
+ * only, so row bands run in parallel on a fork/join pool; the stochastic part
+ * of the growth comes from a hash of (seed, tick, cell), which makes results
+ * identical for a given seed no matter how the work is split.
+ */
+public class PestSpreadModel {
+    /** Cells per fork/join leaf task; smaller bands are not worth forking. */
+    private static final int MIN_CELLS_PER_TASK = 16 * 1024;
+
+    private final int rows;
+    private final int cols;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    private int[] current;
+    private int[] next;
+    private long tick;
+
+    /** Share of a cell's population that leaves for each neighbour, in permille (4 x this must be <= 1000). */
+    private int spreadPermille = 100;
+    /** Daily growth of the population that stays, in permille. */
+    private int growthPermille = 150;
+    /** Maximum population per cell. */
+    private int capacity = 1_000;
+
+    public PestSpreadModel(int rows, int cols, long seed) {
+        this(rows, cols, seed, ForkJoinPool.commonPool());
+    }
+
+    public PestSpreadModel(int rows, int cols, long seed, ForkJoinPool pool) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Grid needs at least one cell, got " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.seed = seed;
+        this.pool = pool;
+        this.current = new int[rows * cols];
+        this.next = new int[rows * cols];
+    }
+
+    public PestSpreadModel spreadPermille(int permille) {
+        this.spreadPermille = Math.max(0, Math.min(250, permille));
+        return this;
+    }
+
+    public PestSpreadModel growthPermille(int permille) {
+        this.growthPermille = Math.max(-1000, permille);
+        return this;
+    }
+
+    public PestSpreadModel capacity(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        return this;
+    }
+
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public long getTick() { return tick; }
+
+    /** Adds pests to a cell (clamped to capacity). */
+    public void introduce(int row, int col, int count) {
+        int c = row * cols + col;
+        current[c] = (int) Math.min(capacity, (long) current[c] + Math.max(0, count));
+    }
+
+    /** Adds pests to a cell chosen deterministically from the seed, tick and {@code salt}. */
+    public void introduceRandom(int salt, int count) {
+        int c = (int) Long.remainderUnsigned(mix(seed ^ 0x5DEECE66DL, tick, salt), (long) rows * cols);
+        introduce(c / cols, c % cols, count);
+    }
+
+    public int get(int row, int col) {
+        return current[row * cols + col];
+    }
+
+    /** Population by row-major cell index. */
+    public int getCell(int cell) {
+        return current[cell];
+    }
+
+    /** Total population over the grid. */
+    public long total() {
+        long sum = 0;
+        for (int v : current) sum += v;
+        return sum;
+    }
+
+    /** Advances one tick: diffusion + growth for all cells, in parallel row bands. */
+    public void step() {
+        int bandRows = Math.max(1, MIN_CELLS_PER_TASK / cols);
+        if (rows <= bandRows) {
+            computeRows(0, rows);
+        } else {
+            pool.invoke(new Band(0, rows, bandRows));
+        }
+        int[] t = current;
+        current = next;
+        next = t;
+        tick++;
+    }
+
+    /** Computes next[] for rows [lo, hi) from current[]. */
+    private void computeRows(int lo, int hi) {
+        final int[] cur = current;
+        final int[] out = next;
+        final int share = spreadPermille;
+        for (int r = lo; r < hi; r++) {
+            int base = r * cols;
+            for (int c = 0; c < cols; c++) {
+                int i = base + c;
+                int pop = cur[i];
+
+                // Outflow goes to in-grid neighbours only; at edges it stays home.
+                int neighbours = (r > 0 ? 1 : 0) + (r < rows - 1 ? 1 : 0) + (c > 0 ? 1 : 0) + (c < cols - 1 ? 1 : 0);
+                long v = pop - (long) neighbours * (pop * (long) share / 1000);
+
+                if (r > 0)        v += cur[i - cols] * (long) share / 1000;
+                if (r < rows - 1) v += cur[i + cols] * (long) share / 1000;
+                if (c > 0)        v += cur[i - 1] * (long) share / 1000;
+                if (c < cols - 1) v += cur[i + 1] * (long) share / 1000;
+
+                if (v > 0) {
+                    // growth with stochastic rounding of the fractional part
+                    long scaled = v * growthPermille;
+                    long frac = Math.floorMod(scaled, 1000L);
+                    v += Math.floorDiv(scaled, 1000L);
+                    if (frac > 0 && Long.remainderUnsigned(mix(seed, tick, i), 1000L) < frac) v++;
+                }
+                out[i] = (int) Math.max(0, Math.min(capacity, v));
+            }
+        }
+    }
+
+    /** SplitMix64-style hash of (seed, tick, cell). */
+    private static long mix(long seed, long tick, long cell) {
+        long z = seed + tick * 0x9E3779B97F4A7C15L + cell * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Fork/join task over a band of rows. */
+    private final class Band extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo, hi, leafRows;
+
+        Band(int lo, int hi, int leafRows) {
+            this.lo = lo;
+            this.hi = hi;
+            this.leafRows = leafRows;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= leafRows) {
+                computeRows(lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Band(lo, mid, leafRows), new Band(mid, hi, leafRows));
+        }
+    }
+}
@@ -12,13 +12,42 @@ import java.util.List;
 public class PesticideController {
     private static final Logger log = LogManager.getLogger(PesticideController.class);
 
+    private final GardenMetrics metrics;
+
+    public PesticideController() {
+        this(GardenMetrics.shared());
+    }
+
+    public PesticideController(GardenMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     /**
-     * Applies pesticide to all alive plants in the garden.
+     * Applies pesticide to a single plant until the end of day {@code until}
+     * (without logging). A longer protection already in place is kept.
+     *
+     * @return true if the plant's protection was set or extended; the caller
+     *         must then schedule its expiry
+     */
+    public boolean protectUntil(Plant plant, int until) {
+        if (!plant.isAlive()) return false;
+        if (plant.isPesticideApplied() && plant.getPesticideUntil() >= until) return false;
+        plant.setPesticideApplied(true);
+        plant.setPesticideUntil(until);
+        return true;
+    }
+
+    /**
+     * Applies pesticide that never expires to all alive plants in the garden.
      *
      * @param plants list of plants in the garden
      */
     public void applyPesticide(List<Plant> plants) {
+        PhaseEvents.Pesticide event = new PhaseEvents.Pesticide();
+        event.begin();
         log.info("Applying pesticides to all plants to prevent pest attacks.");
+        metrics.recordEvent(GardenEventType.PESTICIDE);
+        int applied = 0;
 
         for (Plant plant : plants) {
             if (!plant.isAlive()) {
@@ -26,7 +55,13 @@ public class PesticideController {
                 continue;
             }
             plant.setPesticideApplied(true);
+            plant.setPesticideUntil(Integer.MAX_VALUE); // a pending expiry must not end it
+            applied++;
             log.info("Pesticide applied to {} to enhance resistance against pests.", plant.getName());
         }
+
+        event.gardenSize = plants.size();
+        event.affected = applied;
+        event.commit();
     }
 }
@@ -0,0 +1,73 @@
+package com.gardensim;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events for each simulation phase.
+ * Durations are the JFR intrinsic begin/commit span; every event also
+ * carries the garden size and how many plants the phase touched.
+ * They cost next to nothing unless a recording enables them, e.g.
+ * {@code -XX:StartFlightRecording:filename=garden.jfr}.
+ *
+ * Fused day passes ({@code applyDay}, {@code applyEvents}) handle every
+ * phase in one loop over the plants, so they commit one event per phase
+ * that occurred, each spanning the whole pass: durations then overlap and
+ * measure the pass, not the phase. Their affected counts are summed over
+ * the shards; a pass with several parasites commits one Pest Attack with
+ * the names comma-separated.
+ */
+public final class PhaseEvents {
+    private PhaseEvents() { }
+
+    /** Shared payload of all phase events. */
+    @Category({"GardenSim"})
+    @StackTrace(false)
+    public abstract static class Phase extends Event {
+        @Label("Garden Size")
+        @Description("Plants in the garden when the phase ran")
+        public int gardenSize;
+
+        @Label("Affected")
+        @Description("Plants touched (or killed, for day ticks) by the phase")
+        public int affected;
+    }
+
+    @Name("com.gardensim.DayTick")
+    @Label("Day Tick")
+    @Description("One simulated day; affected = plants that died during it")
+    public static class DayTick extends Phase { }
+
+    @Name("com.gardensim.Rain")
+    @Label("Rain")
+    @Description("Rainfall (or sprinkler fallback) applied to the garden")
+    public static class Rain extends Phase {
+        @Label("Amount")
+        public int amount;
+    }
+
+    @Name("com.gardensim.Temperature")
+    @Label("Temperature")
+    @Description("Temperature adjustment applied to the garden")
+    public static class Temperature extends Phase {
+        @Label("Temperature (F)")
+        public int temperature;
+    }
+
+    @Name("com.gardensim.PestAttack")
+    @Label("Pest Attack")
+    @Description("Parasite attack; affected = vulnerable plants hit")
+    public static class PestAttack extends Phase {
+        @Label("Pest")
+        public String pest;
+    }
+
+    @Name("com.gardensim.Pesticide")
+    @Label("Pesticide")
+    @Description("Pesticide application; affected = plants protected")
+    public static class Pesticide extends Phase { }
+}
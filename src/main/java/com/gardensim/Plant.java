@@ -18,6 +18,14 @@ public class Plant {
     /** Global list of all plants in the simulation. */
     public static final List<Plant> plantsList = new ArrayList<>();
 
+    /** Days a plant survives with an empty water level before it dies of drought. */
+    public static final int DROUGHT_TOLERANCE_DAYS = 3;
+
+    /** Temperatures (°F) below this kill a plant. */
+    static final int MIN_SURVIVABLE_TEMPERATURE = 40;
+    /** Temperatures (°F) above this kill a plant. */
+    static final int MAX_SURVIVABLE_TEMPERATURE = 120;
+
     /** Number of pests currently affecting this plant (if tracked). */
     private int numPests;
 
@@ -30,6 +38,12 @@ public class Plant {
     private int temperature;
     private boolean isAlive;
     private boolean pesticideApplied;
+    /** Last simulated day the pesticide protects this plant (Integer.MAX_VALUE = no expiry). */
+    private int pesticideUntil = Integer.MAX_VALUE;
+    /** Day the water level was last brought up to date by {@link #settle}, or -1 if never. */
+    private int lastUpdatedDay = -1;
+    /** Day the water level reached zero, or -1 while the plant has water. */
+    private int drySince = -1;
     private GridPane gardenGrid;
 
     public Plant(String name, int temperature, int waterRequirement, List<String> parasites) {
@@ -81,6 +95,11 @@ public class Plant {
     }
     public void setPesticideApplied(boolean pesticideApplied) { this.pesticideApplied = pesticideApplied; }
 
+    public int getPesticideUntil() {
+        return pesticideUntil;
+    }
+    public void setPesticideUntil(int pesticideUntil) { this.pesticideUntil = pesticideUntil; }
+
     public int getRow() {
         return row;
     }
@@ -104,15 +123,59 @@ public class Plant {
     /** Waters the plant. Over-watering (> 2× requirement) kills it. */
     public void water(int amount) {
         currentWaterLevel += amount;
+        if (currentWaterLevel > 0) {
+            drySince = -1;
+        }
         if (currentWaterLevel > waterRequirement * 2) {
             isAlive = false;
         }
     }
 
+    /** Water lost per day to evaporation and consumption. */
+    public int getEvaporationRate() {
+        return evaporationRate(waterRequirement);
+    }
+
+    /** Daily water loss of a plant with the given requirement (a quarter of it, at least 1). */
+    static int evaporationRate(int waterRequirement) {
+        return Math.max(1, waterRequirement / 4);
+    }
+
+    /**
+     * Brings the water level up to {@code day} in closed form: the level
+     * drops by {@link #getEvaporationRate()} per day since the last update,
+     * and a plant dry for more than {@link #DROUGHT_TOLERANCE_DAYS} dies.
+     * The first call only starts the clock.
+     *
+     * @return true if the plant died of drought in the elapsed days
+     */
+    public boolean settle(int day) {
+        int last = lastUpdatedDay;
+        if (day <= last) return false;
+        lastUpdatedDay = day;
+        if (last < 0 || !isAlive) return false;
+
+        int rate = getEvaporationRate();
+        long loss = (long) (day - last) * rate;
+        if (currentWaterLevel > loss) {
+            currentWaterLevel -= (int) loss;
+            return false;
+        }
+        if (drySince < 0) {
+            drySince = last + (currentWaterLevel + rate - 1) / rate;
+        }
+        currentWaterLevel = 0;
+        if (day - drySince > DROUGHT_TOLERANCE_DAYS) {
+            isAlive = false;
+            return true;
+        }
+        return false;
+    }
+
     /** Adjusts temperature; extreme temperatures (<40 or >120 °F) kill the plant. */
     public void adjustTemperature(int temp) {
         temperature = temp;
-        if (temperature < 40 || temperature > 120) {
+        if (temperature < MIN_SURVIVABLE_TEMPERATURE || temperature > MAX_SURVIVABLE_TEMPERATURE) {
             isAlive = false;
         }
     }
@@ -0,0 +1,45 @@
+package com.gardensim;
+
+/**
+ * Compact per-plant change records emitted by {@link GardenController#subscribe}.
+ * A delta is one long: the plant's index in the garden's plant list in the
+ * high 32 bits and a set of change flags in the low bits.
+ */
+public final class PlantDelta {
+    /** The plant died this tick (any cause). */
+    public static final int DIED = 1;
+    /** The plant's water level rose past its water requirement this tick. */
+    public static final int WATERED = 1 << 1;
+    /** Pesticide protection started (or restarted after expiring) this tick. */
+    public static final int PROTECTED = 1 << 2;
+    /** Pesticide protection wore off this tick. */
+    public static final int UNPROTECTED = 1 << 3;
+
+    private PlantDelta() { }
+
+    public static long of(int plant, int flags) {
+        return ((long) plant << 32) | (flags & 0xFFFFFFFFL);
+    }
+
+    public static int plant(long delta) {
+        return (int) (delta >>> 32);
+    }
+
+    public static int flags(long delta) {
+        return (int) delta;
+    }
+
+    public static boolean has(long delta, int flag) {
+        return (flags(delta) & flag) != 0;
+    }
+
+    public static String toString(long delta) {
+        int f = flags(delta);
+        StringBuilder sb = new StringBuilder("#").append(plant(delta));
+        if ((f & DIED) != 0) sb.append(" died");
+        if ((f & WATERED) != 0) sb.append(" watered");
+        if ((f & PROTECTED) != 0) sb.append(" protected");
+        if ((f & UNPROTECTED) != 0) sb.append(" unprotected");
+        return sb.toString();
+    }
+}
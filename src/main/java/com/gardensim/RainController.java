@@ -2,6 +2,7 @@ package com.gardensim;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 
 import java.util.List;
 
@@ -13,9 +14,49 @@ public class RainController {
     private static final Logger log = LogManager.getLogger(RainController.class);
 
     /** Minimum rainfall units required before sprinklers are triggered. */
-    private static final int RAINFALL_THRESHOLD = 5;
+    static final int RAINFALL_THRESHOLD = 5;
 
-    private final SprinklerController sprinklerController = new SprinklerController();
+    private final GardenMetrics metrics;
+    private final SprinklerController sprinklerController;
+
+    public RainController() {
+        this(GardenMetrics.shared());
+    }
+
+    public RainController(GardenMetrics metrics) {
+        this.metrics = metrics;
+        this.sprinklerController = new SprinklerController(metrics);
+    }
+
+    /**
+     * Returns the water each plant receives for the given rainfall: the rain
+     * itself, or the sprinkler's average requirement when rain is insufficient.
+     */
+    public int effectiveWater(int rainfallAmount, int averageWaterRequirement) {
+        return rainfallAmount < RAINFALL_THRESHOLD ? averageWaterRequirement : rainfallAmount;
+    }
+
+    /**
+     * Per-cell version of {@link #effectiveWater(int, int)}: writes the water
+     * each cell's plants receive into {@code out}.
+     *
+     * @return number of cells where sprinklers had to make up for the rain
+     */
+    public int effectiveWater(int[] cells, int[] out, int averageWaterRequirement) {
+        int sprinkled = 0;
+        for (int i = 0; i < cells.length; i++) {
+            int rain = cells[i];
+            boolean dry = rain < RAINFALL_THRESHOLD;
+            out[i] = dry ? averageWaterRequirement : rain;
+            sprinkled += dry ? 1 : 0;
+        }
+        if (sprinkled > 0) {
+            // debug, and boxed via Unbox: this runs every tick with a rain field
+            log.debug("Insufficient rainfall in {} cell(s). Sprinklers provide {} units there.",
+                    Unbox.box(sprinkled), Unbox.box(averageWaterRequirement));
+        }
+        return sprinkled;
+    }
 
     /**
      * Simulates rainfall in the garden. If rainfall is insufficient,
@@ -25,16 +66,26 @@ public class RainController {
      * @param plants list of plants in the garden
      */
     public void simulateRain(int rainfallAmount, List<Plant> plants) {
+        PhaseEvents.Rain event = new PhaseEvents.Rain();
+        event.begin();
         log.info("Simulating rain of {} units.", rainfallAmount);
+        metrics.recordEvent(GardenEventType.RAIN);
 
         if (rainfallAmount < RAINFALL_THRESHOLD) {
             log.warn("Insufficient rainfall: {} units (threshold: {}). Activating sprinkler system.", rainfallAmount, RAINFALL_THRESHOLD);
             sprinklerController.activateSprinklers(plants);
         } else {
             for (Plant plant : plants) {
+                boolean wasAlive = plant.isAlive();
                 plant.water(rainfallAmount);
+                if (wasAlive && !plant.isAlive()) metrics.recordDeath(DeathCause.WATER);
             }
             log.info("Rainfall was sufficient. All plants watered with {} units.", rainfallAmount);
         }
+
+        event.gardenSize = plants.size();
+        event.affected = plants.size();
+        event.amount = rainfallAmount;
+        event.commit();
     }
 }
@@ -0,0 +1,92 @@
+package com.gardensim;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random day generator used by the headless runners: a temperature every
+ * day, rain on some days and a parasite with the configured probability.
+ * Defaults match the original GardenSimulator loop. With {@link #fields}
+ * the weather varies across the grid (gradients or storm cells).
+ */
+public class RandomWeather {
+    private static final Logger log = LogManager.getLogger(RandomWeather.class);
+
+    private final Random rng;
+    private final List<String> parasitePool;
+
+    private double pestProb = 0.30;
+    private double rainProb = 0.5;
+    private int rainMin = 1;
+    private int rainMax = 5;
+    private int tempMin = 50;
+    private int tempMax = 95;
+
+    /** Spatial mode ("uniform", "gradient" or "storm") and the reused per-day fields. */
+    private String fieldMode = "uniform";
+    private WeatherField temperatureField;
+    private WeatherField rainField;
+
+    public RandomWeather(Random rng, List<String> parasitePool) {
+        this.rng = rng;
+        this.parasitePool = parasitePool;
+    }
+
+    public RandomWeather pestProb(double p) { this.pestProb = p; return this; }
+    public RandomWeather rainProb(double p) { this.rainProb = p; return this; }
+    public RandomWeather rainRange(int min, int max) { this.rainMin = min; this.rainMax = Math.max(min, max); return this; }
+    public RandomWeather tempRange(int min, int max) { this.tempMin = min; this.tempMax = Math.max(min, max); return this; }
+
+    /**
+     * Makes the weather spatially varying over a rows x cols grid:
+     * "gradient" spreads temperature west to east and rain north to south,
+     * "storm" drops rain in a random storm cell; "uniform" (default) keeps scalars.
+     * Any other mode is logged and treated as "uniform".
+     */
+    public RandomWeather fields(String mode, int rows, int cols) {
+        this.fieldMode = mode == null ? "uniform" : mode;
+        if (!List.of("uniform", "gradient", "storm").contains(fieldMode)) {
+            log.warn("Unknown weather mode '{}' (expected uniform, gradient or storm); using uniform.", fieldMode);
+            this.fieldMode = "uniform";
+        }
+        if (!"uniform".equals(fieldMode)) {
+            this.temperatureField = new WeatherField(rows, cols);
+            this.rainField = new WeatherField(rows, cols);
+        }
+        return this;
+    }
+
+    /** Fills {@code out} with the events of the given day (no allocation). */
+    public DayEvents next(int day, DayEvents out) {
+        out.reset(day);
+
+        // Temperature (F) in a safe-ish range; Plant logic handles extremes anyway.
+        int temperature = tempMin + rng.nextInt(tempMax - tempMin + 1);
+        if ("gradient".equals(fieldMode)) {
+            out.temperatureField(temperatureField.fillGradient(temperature - 10, temperature + 10, true));
+        } else {
+            out.temperature(temperature);
+        }
+
+        if (rng.nextDouble() < rainProb) {
+            int amount = rainMin + rng.nextInt(rainMax - rainMin + 1);
+            switch (fieldMode) {
+                case "gradient" -> out.rainField(rainField.fillGradient(amount, amount * 2, false));
+                case "storm" -> {
+                    int rows = rainField.getRows(), cols = rainField.getCols();
+                    float radius = 1 + rng.nextFloat() * Math.max(rows, cols) / 2f;
+                    out.rainField(rainField.fillStorm(0, amount * 3, rng.nextInt(rows), rng.nextInt(cols), radius));
+                }
+                default -> out.rain(amount);
+            }
+        }
+
+        if (!parasitePool.isEmpty() && rng.nextDouble() < pestProb) {
+            out.parasite(parasitePool.get(rng.nextInt(parasitePool.size())));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,253 @@
+package com.gardensim;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * End-to-end scaling benchmark of the headless engine: for every garden size
+ * and thread count it generates a garden ({@link GardenGenerator}), loads it
+ * through {@link GardenSimulatorAPI} and runs seeded random days, measuring
+ * days/s, plant-days/s, p99 tick latency and peak heap. Sizes that would not
+ * fit the heap are skipped.
+ *
+ * Results go to a JSON report. With {@code -Dbaseline} every (plants,
+ * threads) point is compared against a stored report; a throughput drop
+ * beyond {@code tolerance} or a p99 more than {@code p99Buckets} histogram
+ * buckets above the baseline's is a regression, and the run exits with
+ * status 1. p99 is a power-of-two bucket bound ({@link LatencyHistogram}),
+ * so it is compared by bucket, not by ratio: one bucket up is a doubling
+ * that noise alone can cause at a bucket boundary.
+ *
+ * Run with: mvn -q -Pscaling exec:java
+ * (flags: -Dsizes=1e3,1e4,1e5,1e6,1e7,1e8 -Dthreads=1,2,4,...,cores -Ddays=50 -Dwarmup=10
+ *         (minimum days; small gardens run more, see MIN_PLANT_DAYS)
+ *         -Dseed=42 -Dreport=scaling-report.json -Dbaseline=<file> -Dtolerance=0.2 -Dp99Buckets=1)
+ */
+public class ScalingBenchmark {
+    private static final Logger log = LogManager.getLogger(ScalingBenchmark.class);
+
+    /** Rough heap a loaded plant needs (object, list slot, shard and snapshot indexes). */
+    private static final long BYTES_PER_PLANT = 200;
+
+    /**
+     * Small gardens warm up and are measured over at least this many
+     * plant-days, so the tick is JIT-compiled and timed over more than a few
+     * milliseconds.
+     */
+    private static final long MIN_PLANT_DAYS = 20_000_000;
+
+    /** One measured point of the scaling curves. */
+    public record Result(long plants, int threads, int days, double daysPerSec, double plantDaysPerSec,
+                         double p99TickMicros, long peakHeapBytes) {
+
+        JSONObject toJson() {
+            return new JSONObject()
+                    .put("plants", plants).put("threads", threads).put("days", days)
+                    .put("daysPerSec", daysPerSec).put("plantDaysPerSec", plantDaysPerSec)
+                    .put("p99TickMicros", p99TickMicros).put("peakHeapMiB", peakHeapBytes >> 20);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Long> sizes = parseSizes(System.getProperty("sizes", "1e3,1e4,1e5,1e6,1e7,1e8"));
+        List<Integer> threads = parseThreads(System.getProperty("threads"), cores);
+        int days = parseInt(System.getProperty("days", "50"), 50);
+        int warmup = parseInt(System.getProperty("warmup", "10"), 10);
+        long seed = parseLong(System.getProperty("seed", "42"), 42L);
+        Path report = Path.of(System.getProperty("report", "scaling-report.json"));
+        String baseline = System.getProperty("baseline");
+        double tolerance = parseDouble(System.getProperty("tolerance", "0.2"), 0.2);
+        int p99Buckets = parseInt(System.getProperty("p99Buckets", "1"), 1);
+
+        List<Result> results = new ArrayList<>();
+        Path dir = Files.createTempDirectory("gardensim-scaling");
+        try {
+            for (long size : sizes) {
+                if (size * BYTES_PER_PLANT > Runtime.getRuntime().maxMemory()) {
+                    log.warn("Skipping {} plant(s): needs about {} MiB of heap, -Xmx is {} MiB.", size,
+                            (size * BYTES_PER_PLANT) >> 20, Runtime.getRuntime().maxMemory() >> 20);
+                    continue;
+                }
+                Path garden = dir.resolve("garden-" + size + ".bin");
+                GardenGenerator.generate(new GardenGenerator.Spec(size, 16, 32, 0.1, 0, 0, seed), garden, "bin");
+                for (int t : threads) {
+                    Result r = run(garden, size, t, days, warmup, seed);
+                    results.add(r);
+                    log.info("{} plant(s) x {} thread(s): {} days/s, {} plant-days/s, p99 tick {} us, peak heap {} MiB",
+                            size, t, String.format("%.1f", r.daysPerSec()), String.format("%.3g", r.plantDaysPerSec()),
+                            String.format("%.0f", r.p99TickMicros()), r.peakHeapBytes() >> 20);
+                }
+                Files.deleteIfExists(garden);
+            }
+        } finally {
+            Files.deleteIfExists(dir);
+        }
+
+        JSONObject json = new JSONObject()
+                .put("cores", cores)
+                .put("maxHeapMiB", Runtime.getRuntime().maxMemory() >> 20)
+                .put("java", System.getProperty("java.version"))
+                .put("seed", seed);
+        JSONArray points = new JSONArray();
+        for (Result r : results) points.put(r.toJson());
+        json.put("results", points);
+        Files.writeString(report, json.toString(2), StandardCharsets.UTF_8);
+        log.info("Wrote {} result(s) to {}", results.size(), report);
+
+        if (baseline != null && !baseline.isBlank()) {
+            int regressions = compare(results, Path.of(baseline), tolerance, p99Buckets);
+            if (regressions > 0) {
+                log.error("{} scaling regression(s) against {}", regressions, baseline);
+                System.exit(1);
+            }
+            log.info("No scaling regressions against {}", baseline);
+        }
+    }
+
+    /** Loads the garden with {@code threads} shards on its own pool and times {@code days} days. */
+    static Result run(Path garden, long plants, int threads, int days, int warmup, long seed) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            System.gc();
+            List<MemoryPoolMXBean> heap = heapPools();
+            for (MemoryPoolMXBean p : heap) p.resetPeakUsage();
+
+            GardenMetrics metrics = new GardenMetrics();
+            GardenSimulatorAPI api = new GardenSimulatorAPI();
+            api.setMetrics(metrics);
+            api.setShards(threads);
+            api.setPool(pool);
+            api.initializeGardenFromFile(garden);
+            api.setSeed(seed);
+            RandomWeather weather = new RandomWeather(new Random(seed), api.getKnownParasiteNames());
+            DayEvents today = new DayEvents();
+
+            int minDays = (int) Math.min(Integer.MAX_VALUE / 4, (MIN_PLANT_DAYS + plants - 1) / plants);
+            warmup = Math.max(warmup, minDays);
+            days = Math.max(days, minDays);
+
+            int day = 0;
+            for (int i = 0; i < warmup; i++) api.applyDay(weather.next(++day, today));
+            metrics.getTickLatency().reset();
+
+            long start = System.nanoTime();
+            for (int i = 0; i < days; i++) api.applyDay(weather.next(++day, today));
+            double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+
+            long peak = 0;
+            for (MemoryPoolMXBean p : heap) peak += p.getPeakUsage().getUsed();
+            return new Result(plants, threads, days, days / seconds, plants * (double) days / seconds,
+                    metrics.getTickLatency().getPercentileNanos(99) / 1e3, peak);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Logs every point that regressed against the baseline report; points
+     * missing from the baseline are not compared.
+     *
+     * @return number of regressions
+     */
+    static int compare(List<Result> results, Path baselinePath, double tolerance, int p99Buckets)
+            throws IOException {
+        JSONArray points = new JSONObject(Files.readString(baselinePath, StandardCharsets.UTF_8))
+                .getJSONArray("results");
+        Map<String, JSONObject> baseline = new HashMap<>();
+        for (int i = 0; i < points.length(); i++) {
+            JSONObject p = points.getJSONObject(i);
+            baseline.put(p.getLong("plants") + "x" + p.getInt("threads"), p);
+        }
+
+        int regressions = 0;
+        for (Result r : results) {
+            JSONObject b = baseline.get(r.plants() + "x" + r.threads());
+            if (b == null) continue;
+            double before = b.getDouble("plantDaysPerSec");
+            if (r.plantDaysPerSec() < before * (1 - tolerance)) {
+                regressions++;
+                log.error("REGRESSION {} plant(s) x {} thread(s): {} plant-days/s, baseline {} ({}%)",
+                        r.plants(), r.threads(), String.format("%.3g", r.plantDaysPerSec()), String.format("%.3g", before),
+                        String.format("%+.0f", 100 * (r.plantDaysPerSec() / before - 1)));
+            }
+            double p99Before = b.getDouble("p99TickMicros");
+            if (p99Before > 0 && p99Bucket(r.p99TickMicros()) > p99Bucket(p99Before) + p99Buckets) {
+                regressions++;
+                log.error("REGRESSION {} plant(s) x {} thread(s): p99 tick {} us, baseline {} us",
+                        r.plants(), r.threads(), String.format("%.0f", r.p99TickMicros()), String.format("%.0f", p99Before));
+            }
+        }
+        return regressions;
+    }
+
+    /** Histogram bucket of a p99 from a report (microseconds, from {@link LatencyHistogram#getPercentileNanos}). */
+    private static int p99Bucket(double micros) {
+        return LatencyHistogram.bucketOf(Math.round(micros * 1e3));
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> heap = new ArrayList<>();
+        for (MemoryPoolMXBean p : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (p.getType() == MemoryType.HEAP && p.isValid()) heap.add(p);
+        }
+        return heap;
+    }
+
+    /** Parses "1e3,1e4,100000" style garden sizes. */
+    private static List<Long> parseSizes(String s) {
+        List<Long> sizes = new ArrayList<>();
+        for (String part : s.split(",")) {
+            try {
+                long n = (long) Double.parseDouble(part.trim());
+                if (n > 0) sizes.add(n);
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring garden size '{}'", part);
+            }
+        }
+        return sizes;
+    }
+
+    /** Parses "1,2,4" thread counts; by default powers of two up to, and including, all cores. */
+    private static List<Integer> parseThreads(String s, int cores) {
+        List<Integer> threads = new ArrayList<>();
+        if (s == null || s.isBlank()) {
+            for (int t = 1; t < cores; t *= 2) threads.add(t);
+            threads.add(cores);
+            return threads;
+        }
+        for (String part : s.split(",")) {
+            int t = parseInt(part.trim(), 0);
+            if (t > 0) threads.add(t);
+        }
+        return threads;
+    }
+
+    private static int parseInt(String s, int def) {
+        try { return Integer.parseInt(s); } catch (Exception e) { return def; }
+    }
+
+    private static long parseLong(String s, long def) {
+        try { return Long.parseLong(s); } catch (Exception e) { return def; }
+    }
+
+    private static double parseDouble(String s, double def) {
+        try { return Double.parseDouble(s); } catch (Exception e) { return def; }
+    }
+}
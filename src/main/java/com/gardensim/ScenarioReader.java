@@ -0,0 +1,407 @@
+package com.gardensim;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a recorded weather/pest scenario from a file or stdin and hands it
+ * out one day at a time as {@link DayEvents}, so real or historical feeds
+ * can drive the engine instead of {@link RandomWeather}. Input is parsed
+ * incrementally through one reused buffer; only parasite names become
+ * objects, and those are cached.
+ *
+ * Text format, one record per line ('#' starts a comment, a non-numeric
+ * first line is taken as a header and skipped):
+ *   day,rain,temperature,parasite;parasite...
+ * Empty fields mean "no such event", e.g. {@code 12,,95,Aphids}.
+ *
+ * Binary format (little-endian): int magic 'GSC1', int parasiteCount, then
+ * per parasite: short length + UTF-8 name; then 16-byte records
+ * {int day, int rain, int temperature, int parasite}, with {@link #NONE}
+ * for no rain/temperature and -1 for no parasite.
+ *
+ * In both formats records must come in non-decreasing day order. Records of
+ * the same day are merged: rain adds up, the last temperature wins and every
+ * parasite attacks. Days without records are not returned.
+ *
+ * Convert text to binary with:
+ *   mvn -q exec:java -Dexec.mainClass=com.gardensim.ScenarioReader -Din=weather.csv -Dout=weather.scn
+ */
+public final class ScenarioReader implements Closeable {
+    private static final Logger log = LogManager.getLogger(ScenarioReader.class);
+
+    public static final int MAGIC = 0x31435347; // "GSC1" little-endian
+    public static final int RECORD_BYTES = 4 * Integer.BYTES;
+    /** Rain or temperature absent from a binary record. */
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private static final int BUFFER_BYTES = 1 << 17;
+
+    private final ReadableByteChannel in;
+    private final ByteBuffer buf = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final byte[] bytes = buf.array();
+    private final boolean binary;
+    private final List<String> parasiteTable = new ArrayList<>();
+    private boolean eof;
+    private long line;
+
+    /** Cache of parasite names by their bytes, so repeated names are not decoded again. */
+    private final String[] names = new String[256];
+    private final byte[][] nameBytes = new byte[256][];
+
+    // The record read ahead: the first one of the next day.
+    private boolean pending;
+    private int day;
+    private int rain;
+    private int temperature;
+    private String[] parasites = new String[4];
+    private int parasiteCount;
+    private int lastDay = Integer.MIN_VALUE;
+    /** Error hit while reading ahead; the day being merged is dropped and the error reported. */
+    private IOException error;
+
+    /**
+     * Opens a scenario.
+     *
+     * @param source file path, or "-" for stdin
+     * @param format "text" or "bin"; null detects the binary magic
+     */
+    public static ScenarioReader open(String source, String format) throws IOException {
+        ReadableByteChannel ch = "-".equals(source)
+                ? Channels.newChannel(System.in)
+                : FileChannel.open(Path.of(source), StandardOpenOption.READ);
+        try {
+            return new ScenarioReader(ch, format);
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    public ScenarioReader(ReadableByteChannel in, String format) throws IOException {
+        this.in = in;
+        buf.limit(0);
+        if (format == null || format.isBlank()) {
+            fill(Integer.BYTES);
+            binary = buf.remaining() >= Integer.BYTES && buf.getInt(buf.position()) == MAGIC;
+        } else {
+            binary = switch (format.toLowerCase(Locale.ROOT)) {
+                case "bin" -> true;
+                case "text", "csv" -> false;
+                default -> throw new IllegalArgumentException("Unknown scenario format: " + format);
+            };
+        }
+        if (binary) readHeader();
+    }
+
+    /**
+     * Fills {@code out} with the next day that has events. A malformed record
+     * fails the day it follows, since it may have belonged to it: a day is
+     * never returned partially merged.
+     *
+     * @return false at the end of the scenario
+     * @throws IOException on a malformed record; every later call throws it too
+     */
+    public boolean next(DayEvents out) throws IOException {
+        if (error != null) throw error;
+        if (!pending && !readRecord()) return false;
+        int today = day;
+        out.reset(today);
+        int rainfall = 0;
+        do {
+            if (rain != NONE) out.rain(rainfall += rain);
+            if (temperature != NONE) out.temperature(temperature);
+            for (int i = 0; i < parasiteCount; i++) out.parasite(parasites[i]);
+            pending = false;
+        } while (readAhead() && day == today);
+        if (error != null) {
+            out.reset(today); // the day may be incomplete: drop it rather than apply part of it
+            throw error;
+        }
+        return true;
+    }
+
+    private boolean readAhead() {
+        try {
+            return readRecord();
+        } catch (IOException e) {
+            error = e;
+            return false;
+        }
+    }
+
+    /** Reads the next record into the look-ahead fields; false at the end of input. */
+    private boolean readRecord() throws IOException {
+        boolean read = binary ? readBinaryRecord() : readTextRecord();
+        if (!read) return false;
+        if (day < lastDay) {
+            throw new IOException("Scenario goes back from day " + lastDay + " to day " + day
+                    + (binary ? "" : " at line " + line));
+        }
+        lastDay = day;
+        pending = true;
+        return true;
+    }
+
+    private boolean readBinaryRecord() throws IOException {
+        fill(RECORD_BYTES);
+        if (buf.remaining() == 0) return false;
+        if (buf.remaining() < RECORD_BYTES) throw new EOFException("Truncated scenario record");
+        day = buf.getInt();
+        rain = buf.getInt();
+        temperature = buf.getInt();
+        int parasite = buf.getInt();
+        parasiteCount = 0;
+        if (parasite >= 0) {
+            if (parasite >= parasiteTable.size()) throw new IOException("Unknown parasite index " + parasite);
+            parasites[parasiteCount++] = parasiteTable.get(parasite);
+        }
+        return true;
+    }
+
+    private void readHeader() throws IOException {
+        if (fill(2 * Integer.BYTES) < 2 * Integer.BYTES || buf.getInt() != MAGIC) {
+            throw new IOException("Not a binary scenario (bad magic)");
+        }
+        int n = buf.getInt();
+        for (int i = 0; i < n; i++) {
+            if (fill(Short.BYTES) < Short.BYTES) throw new EOFException("Truncated scenario header");
+            int length = Short.toUnsignedInt(buf.getShort());
+            if (fill(length) < length) throw new EOFException("Truncated scenario header");
+            parasiteTable.add(new String(bytes, buf.position(), length, StandardCharsets.UTF_8));
+            buf.position(buf.position() + length);
+        }
+    }
+
+    private boolean readTextRecord() throws IOException {
+        while (true) {
+            int start = buf.position();
+            int end = indexOf('\n', start, buf.limit());
+            if (end < 0) {
+                if (!eof) {
+                    if (buf.remaining() == buf.capacity()) {
+                        throw new IOException("Scenario line " + (line + 1) + " is too long");
+                    }
+                    fill(buf.remaining() + 1);
+                    continue;
+                }
+                if (buf.remaining() == 0) return false;
+                end = buf.limit(); // last line without a newline
+            }
+            buf.position(Math.min(end + 1, buf.limit()));
+            line++;
+            int e = end;
+            if (e > start && bytes[e - 1] == '\r') e--;
+            if (parseLine(start, e)) return true;
+        }
+    }
+
+    /** Parses one text line; false for blank, comment and header lines. */
+    private boolean parseLine(int start, int end) throws IOException {
+        int s = skipSpaces(start, end);
+        if (s == end || bytes[s] == '#') return false;
+        if (line == 1 && !isDigit(bytes[s]) && bytes[s] != '-') return false; // header
+
+        int comma = field(s, end);
+        day = parseInt(s, comma, NONE);
+        if (day == NONE) throw new IOException("Missing day at scenario line " + line);
+        s = Math.min(comma + 1, end);
+        comma = field(s, end);
+        rain = parseInt(s, comma, NONE);
+        s = Math.min(comma + 1, end);
+        comma = field(s, end);
+        temperature = parseInt(s, comma, NONE);
+        s = Math.min(comma + 1, end);
+
+        parasiteCount = 0;
+        while (s < end) {
+            int semi = s;
+            while (semi < end && bytes[semi] != ';' && bytes[semi] != ',') semi++;
+            int a = skipSpaces(s, semi);
+            int b = semi;
+            while (b > a && bytes[b - 1] == ' ') b--;
+            if (b > a) {
+                if (parasiteCount == parasites.length) parasites = Arrays.copyOf(parasites, parasiteCount * 2);
+                parasites[parasiteCount++] = name(a, b);
+            }
+            s = semi + 1;
+        }
+        return true;
+    }
+
+    private int field(int from, int end) {
+        int i = from;
+        while (i < end && bytes[i] != ',') i++;
+        return i;
+    }
+
+    /** Parses a decimal int in [from, to) ignoring surrounding spaces; {@code empty} if blank. */
+    private int parseInt(int from, int to, int empty) throws IOException {
+        int a = skipSpaces(from, to);
+        int b = to;
+        while (b > a && bytes[b - 1] == ' ') b--;
+        if (a == b) return empty;
+        boolean negative = bytes[a] == '-';
+        if (negative || bytes[a] == '+') a++;
+        if (a == b) throw new IOException("Bad number at scenario line " + line);
+        long v = 0;
+        for (int i = a; i < b; i++) {
+            byte c = bytes[i];
+            if (!isDigit(c)) throw new IOException("Bad number at scenario line " + line);
+            v = v * 10 + (c - '0');
+            if (v > Integer.MAX_VALUE) throw new IOException("Number too large at scenario line " + line);
+        }
+        return (int) (negative ? -v : v);
+    }
+
+    private int skipSpaces(int from, int to) {
+        while (from < to && (bytes[from] == ' ' || bytes[from] == '\t')) from++;
+        return from;
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private int indexOf(char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == c) return i;
+        }
+        return -1;
+    }
+
+    /** The parasite name in bytes [from, to), decoded once per distinct name. */
+    private String name(int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) h = 31 * h + bytes[i];
+        int slot = (h ^ (h >>> 16)) & (names.length - 1);
+        byte[] known = nameBytes[slot];
+        if (known != null && Arrays.equals(known, 0, known.length, bytes, from, to)) return names[slot];
+        byte[] copy = Arrays.copyOfRange(bytes, from, to);
+        nameBytes[slot] = copy;
+        return names[slot] = new String(copy, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Makes at least {@code n} bytes available (fewer only at the end of
+     * input), moving the unread bytes to the front of the buffer.
+     *
+     * @return bytes available
+     */
+    private int fill(int n) throws IOException {
+        if (buf.remaining() >= n || eof) return buf.remaining();
+        buf.compact();
+        while (buf.position() < n && buf.hasRemaining()) {
+            if (in.read(buf) < 0) {
+                eof = true;
+                break;
+            }
+        }
+        buf.flip();
+        return buf.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /** Writes a binary scenario, one record per event (rain and temperature share one). */
+    public static final class Writer implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer block = ByteBuffer.allocateDirect(RECORD_BYTES * 8192).order(ByteOrder.LITTLE_ENDIAN);
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        public Writer(Path path, List<String> parasites) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            block.putInt(MAGIC).putInt(parasites.size());
+            for (String p : parasites) {
+                byte[] name = p.getBytes(StandardCharsets.UTF_8);
+                ids.put(p, ids.size());
+                if (block.remaining() < Short.BYTES + name.length) flush();
+                block.putShort((short) name.length).put(name);
+            }
+        }
+
+        /** Appends a day's uniform rain, temperature and parasites (weather fields are not stored). */
+        public void write(DayEvents day) throws IOException {
+            int rain = day.hasRain() && day.getRainField() == null ? day.getRainfall() : NONE;
+            int temperature = day.hasTemperature() && day.getTemperatureField() == null ? day.getTemperature() : NONE;
+            List<String> parasites = day.getParasites();
+            int i = 0;
+            do {
+                int parasite = -1;
+                if (i < parasites.size()) {
+                    Integer id = ids.get(parasites.get(i));
+                    if (id == null) throw new IllegalArgumentException("Parasite not in the header: " + parasites.get(i));
+                    parasite = id;
+                }
+                if (block.remaining() < RECORD_BYTES) flush();
+                block.putInt(day.getDay()).putInt(rain).putInt(temperature).putInt(parasite);
+                rain = NONE;
+                temperature = NONE;
+            } while (++i < parasites.size());
+        }
+
+        private void flush() throws IOException {
+            block.flip();
+            while (block.hasRemaining()) channel.write(block);
+            block.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /** Converts a text scenario (-Din) to the binary format (-Dout), reading the input twice. */
+    public static void main(String[] args) throws IOException {
+        String inPath = System.getProperty("in");
+        String outPath = System.getProperty("out");
+        if (inPath == null || outPath == null || "-".equals(inPath)) {
+            log.error("Usage: -Din=<scenario.csv> -Dout=<scenario.scn>");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        DayEvents day = new DayEvents();
+        Set<String> parasites = new LinkedHashSet<>();
+        try (ScenarioReader r = open(inPath, "text")) {
+            while (r.next(day)) parasites.addAll(day.getParasites());
+        }
+        long days = 0;
+        try (ScenarioReader r = open(inPath, "text"); Writer w = new Writer(Path.of(outPath), new ArrayList<>(parasites))) {
+            while (r.next(day)) {
+                w.write(day);
+                days++;
+            }
+        }
+        log.info("Converted {} day(s) from {} to {} in {} ms", days, inPath, outPath,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,136 @@
+package com.gardensim;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a garden config file (JSON or binary snapshot) and pushes changed
+ * species definitions into a running garden through
+ * {@link GardenSimulatorAPI#updateSpecies}, which applies them in place
+ * between ticks. Plants, their state and the simulation keep going; only the
+ * species whose water requirement or parasites changed are touched.
+ *
+ * Editors often write a file in several steps, so a change is read after
+ * the file has been quiet for {@code settleMillis}.
+ */
+public class SpeciesConfigWatcher implements AutoCloseable {
+    private static final Logger log = LogManager.getLogger(SpeciesConfigWatcher.class);
+
+    private final Path file;
+    private final GardenSimulatorAPI api;
+    private final long settleMillis;
+    private final WatchService watcher;
+    private final Thread thread;
+
+    /**
+     * Starts watching {@code file} on a daemon thread.
+     *
+     * @param settleMillis quiet time after the last change before reloading
+     */
+    public SpeciesConfigWatcher(Path file, GardenSimulatorAPI api, long settleMillis) throws IOException {
+        this.file = file.toAbsolutePath().normalize();
+        this.api = api;
+        this.settleMillis = Math.max(0, settleMillis);
+        this.watcher = FileSystems.getDefault().newWatchService();
+        // Watch the directory: editors often replace the file rather than write it in place.
+        this.file.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::watch, "species-config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Watching {} for species changes.", this.file);
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                boolean ours = pollOurs(key);
+                // Wait until the file has been quiet for settleMillis.
+                while (ours) {
+                    WatchKey more = watcher.poll(settleMillis, TimeUnit.MILLISECONDS);
+                    if (more == null) break;
+                    pollOurs(more);
+                }
+                if (ours) reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    /** Drains a key's events and re-arms it; returns true if any concerned the watched file. */
+    private boolean pollOurs(WatchKey key) {
+        boolean ours = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path name && file.getFileName().equals(name)) ours = true;
+        }
+        key.reset();
+        return ours;
+    }
+
+    /** Reads the file and applies its species; errors are logged and the garden keeps its species. */
+    void reload() {
+        try {
+            List<SpeciesDefinition> definitions = readSpecies(file);
+            int updated = api.updateSpecies(definitions);
+            log.info("Reloaded {}: {} species, {} plant(s) updated.", file, definitions.size(), updated);
+        } catch (Exception e) {
+            log.error("Failed to reload '{}': {}. Keeping the current species.", file, e.toString());
+        }
+    }
+
+    /**
+     * Species definitions in a config file: the header of a binary snapshot,
+     * or the first entry per plant name of a JSON config.
+     */
+    public static List<SpeciesDefinition> readSpecies(Path file) throws IOException {
+        if (GardenSnapshotFile.isSnapshot(file)) {
+            GardenSnapshotFile.Header header = GardenSnapshotFile.readHeader(file);
+            List<SpeciesDefinition> out = new ArrayList<>(header.species().size());
+            for (GardenSnapshotFile.Species s : header.species()) {
+                List<String> parasites = new ArrayList<>(s.parasites().length);
+                for (int p : s.parasites()) parasites.add(header.parasites().get(p));
+                out.add(new SpeciesDefinition(s.name(), s.waterRequirement(), parasites));
+            }
+            return out;
+        }
+
+        JSONArray plants = new JSONObject(Files.readString(file, StandardCharsets.UTF_8)).getJSONArray("plants");
+        Map<String, SpeciesDefinition> byName = new LinkedHashMap<>();
+        for (int i = 0; i < plants.length(); i++) {
+            JSONObject p = plants.getJSONObject(i);
+            String name = p.getString("name");
+            if (byName.containsKey(name)) continue;
+            List<String> parasites = new ArrayList<>();
+            JSONArray par = p.getJSONArray("parasites");
+            for (int j = 0; j < par.length(); j++) parasites.add(par.getString(j));
+            byName.put(name, new SpeciesDefinition(name, p.getInt("waterRequirement"), parasites));
+        }
+        return new ArrayList<>(byName.values());
+    }
+
+    @Override
+    public void close() throws IOException {
+        watcher.close();
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,18 @@
+package com.gardensim;
+
+import java.util.List;
+
+/**
+ * The per-species part of a garden config: what every plant of the species
+ * shares. A plant's temperature and water level are its own state and are
+ * not part of the definition.
+ *
+ * @param name             species (plant) name
+ * @param waterRequirement water the species needs; more than twice this drowns it
+ * @param parasites        parasites the species is vulnerable to
+ */
+public record SpeciesDefinition(String name, int waterRequirement, List<String> parasites) {
+    public SpeciesDefinition {
+        parasites = List.copyOf(parasites);
+    }
+}
@@ -12,6 +12,16 @@ import java.util.List;
 public class SprinklerController {
     private static final Logger log = LogManager.getLogger(SprinklerController.class);
 
+    private final GardenMetrics metrics;
+
+    public SprinklerController() {
+        this(GardenMetrics.shared());
+    }
+
+    public SprinklerController(GardenMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * Activates the sprinkler system and waters all plants.
      *
@@ -27,12 +37,14 @@ public class SprinklerController {
         log.info("Activating sprinklers, providing an average of {} units of water to all plants.", averageWaterRequirement);
 
         for (Plant plant : plants) {
+            boolean wasAlive = plant.isAlive();
             plant.water(averageWaterRequirement);
+            if (wasAlive && !plant.isAlive()) metrics.recordDeath(DeathCause.WATER);
         }
     }
 
     /** Calculates the average water requirement across all plants. */
-    private int calculateAverageWaterRequirement(List<Plant> plants) {
+    int calculateAverageWaterRequirement(List<Plant> plants) {
         int totalRequirement = 0;
         for (Plant plant : plants) {
             totalRequirement += plant.getWaterRequirement();
@@ -0,0 +1,69 @@
+package com.gardensim;
+
+import javafx.scene.image.Image;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared cache of pre-scaled GUI sprites.
+ * Each sprite is rasterized once per pixel size from its classpath source,
+ * so ImageViews can show it 1:1 instead of rescaling on every layout pass.
+ */
+public class SpriteCache {
+    private static final Logger log = LogManager.getLogger(SpriteCache.class);
+
+    /** Raw bytes of each source image, read from the classpath only once. */
+    private final Map<String, byte[]> sources = new HashMap<>();
+
+    /** Scaled sprites keyed by resource path; each remembers the size it was built for. */
+    private final Map<String, Sprite> sprites = new HashMap<>();
+
+    private record Sprite(int side, Image image) { }
+
+    /**
+     * Returns the sprite for the given resource scaled to fit a side x side box,
+     * re-rasterizing only if the requested size differs from the cached one.
+     *
+     * @param resourcePath classpath path (e.g. "/images/rose.png")
+     * @param side         target box size in pixels
+     * @return the scaled image, or null if the resource is missing
+     */
+    public Image get(String resourcePath, int side) {
+        side = Math.max(1, side);
+        Sprite cached = sprites.get(resourcePath);
+        if (cached != null && cached.side() == side) {
+            return cached.image();
+        }
+
+        byte[] bytes = source(resourcePath);
+        if (bytes == null) return null;
+
+        Image image = new Image(new ByteArrayInputStream(bytes), side, side, true, true);
+        sprites.put(resourcePath, new Sprite(side, image));
+        log.debug("Rasterized {} at {}px.", resourcePath, side);
+        return image;
+    }
+
+    private byte[] source(String resourcePath) {
+        byte[] bytes = sources.get(resourcePath);
+        if (bytes != null) return bytes;
+
+        try (InputStream in = SpriteCache.class.getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                log.warn("Missing sprite resource {}", resourcePath);
+                return null;
+            }
+            bytes = in.readAllBytes();
+            sources.put(resourcePath, bytes);
+            return bytes;
+        } catch (Exception e) {
+            log.warn("Failed to load: {}", resourcePath, e);
+            return null;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.gardensim;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 
 import java.util.List;
 
@@ -18,6 +19,15 @@ public class TemperatureController {
 
     private static final Logger log = LogManager.getLogger(TemperatureController.class);
     private final HeatingController heatingController = new HeatingController();
+    private final GardenMetrics metrics;
+
+    public TemperatureController() {
+        this(GardenMetrics.shared());
+    }
+
+    public TemperatureController(GardenMetrics metrics) {
+        this.metrics = metrics;
+    }
 
     /**
      * Adjusts the garden's temperature and applies it to all plants.
@@ -26,7 +36,10 @@ public class TemperatureController {
      * @param plants list of plants in the garden
      */
     public void adjustTemperature(int temperature, List<Plant> plants) {
+        PhaseEvents.Temperature event = new PhaseEvents.Temperature();
+        event.begin();
         log.info("Adjusting temperature to {} °F.", temperature);
+        metrics.recordEvent(GardenEventType.TEMPERATURE);
 
         if (temperature < LOWER_TEMPERATURE_THRESHOLD) {
             log.warn("Detected low temperature of {} °F (below {}). Activating heating system.", temperature, LOWER_TEMPERATURE_THRESHOLD);
@@ -36,12 +49,49 @@ public class TemperatureController {
         }
 
         adjustPlantTemperatures(plants, temperature);
+
+        event.gardenSize = plants.size();
+        event.affected = plants.size();
+        event.temperature = temperature;
+        event.commit();
+    }
+
+    /**
+     * Returns the temperature plants actually experience: heating lifts
+     * anything below the lower threshold to the minimum safe temperature.
+     */
+    public int effectiveTemperature(int temperature) {
+        return temperature < LOWER_TEMPERATURE_THRESHOLD ? heatingController.activateHeating() : temperature;
+    }
+
+    /**
+     * Per-cell version of {@link #effectiveTemperature(int)}: writes the
+     * heated temperature of each cell into {@code out}.
+     *
+     * @return number of cells the heating had to lift
+     */
+    public int effectiveTemperatures(int[] cells, int[] out) {
+        int heated = 0;
+        for (int i = 0; i < cells.length; i++) {
+            int t = cells[i];
+            boolean cold = t < LOWER_TEMPERATURE_THRESHOLD;
+            out[i] = cold ? HeatingController.MINIMUM_SAFE_TEMPERATURE : t;
+            heated += cold ? 1 : 0;
+        }
+        if (heated > 0) {
+            // debug, and boxed via Unbox: this runs every tick with a temperature field
+            log.debug("Low temperature in {} cell(s) (below {}). Heating those cells.",
+                    Unbox.box(heated), Unbox.box(LOWER_TEMPERATURE_THRESHOLD));
+        }
+        return heated;
     }
 
     /** Applies the given temperature to all plants in the garden. */
     private void adjustPlantTemperatures(List<Plant> plants, int temperature) {
         for (Plant plant : plants) {
+            boolean wasAlive = plant.isAlive();
             plant.adjustTemperature(temperature);
+            if (wasAlive && !plant.isAlive()) metrics.recordDeath(DeathCause.TEMPERATURE);
         }
         log.info("Temperature {} °F applied to {} plants.", temperature, plants.size());
     }
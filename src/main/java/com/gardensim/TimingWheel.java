@@ -0,0 +1,91 @@
+package com.gardensim;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel of (id, deadline day) entries. Each slot holds the
+ * entries whose deadline maps to it, in two parallel primitive arrays, so
+ * advancing the clock only visits the slots of the elapsed days: the cost
+ * is the number of expiring entries (plus those parked for a later lap),
+ * not the number of ids tracked.
+ *
+ * Entries are never removed early; owners cancel lazily by ignoring an
+ * expiry whose deadline no longer matches their own record.
+ */
+final class TimingWheel {
+    /** Receives expired entries. */
+    interface Expiry {
+        void expire(int id, int deadline);
+    }
+
+    private final int mask;
+    private final int[][] ids;
+    private final int[][] deadlines;
+    private final int[] sizes;
+    private int now;
+    private int size;
+
+    /** @param slots number of slots, rounded up to a power of two */
+    TimingWheel(int slots) {
+        int n = Integer.highestOneBit(Math.max(2, slots) * 2 - 1);
+        this.mask = n - 1;
+        this.ids = new int[n][];
+        this.deadlines = new int[n][];
+        this.sizes = new int[n];
+        for (int s = 0; s < n; s++) {
+            ids[s] = new int[4];
+            deadlines[s] = new int[4];
+        }
+    }
+
+    /** Number of entries still waiting (including lazily cancelled ones). */
+    int size() {
+        return size;
+    }
+
+    /** Schedules {@code id} to expire on {@code deadline}; past deadlines expire on the next advance. */
+    void schedule(int id, int deadline) {
+        int slot = (Math.max(deadline, now + 1)) & mask;
+        int n = sizes[slot];
+        if (n == ids[slot].length) {
+            ids[slot] = Arrays.copyOf(ids[slot], n * 2);
+            deadlines[slot] = Arrays.copyOf(deadlines[slot], n * 2);
+        }
+        ids[slot][n] = id;
+        deadlines[slot][n] = deadline;
+        sizes[slot] = n + 1;
+        size++;
+    }
+
+    /**
+     * Moves the clock to {@code day}, handing every entry with a deadline at
+     * or before it to {@code expiry}.
+     *
+     * @return number of entries expired
+     */
+    int advance(int day, Expiry expiry) {
+        if (day <= now) return 0;
+        int steps = (int) Math.min((long) day - now, mask + 1L);
+        int expired = 0;
+        for (int s = 1; s <= steps; s++) {
+            int slot = (now + s) & mask;
+            int[] slotIds = ids[slot];
+            int[] slotDeadlines = deadlines[slot];
+            int kept = 0;
+            for (int k = 0, n = sizes[slot]; k < n; k++) {
+                if (slotDeadlines[k] <= day) {
+                    expiry.expire(slotIds[k], slotDeadlines[k]);
+                    expired++;
+                } else {
+                    slotIds[kept] = slotIds[k];
+                    slotDeadlines[kept] = slotDeadlines[k];
+                    kept++;
+                }
+            }
+            sizes[slot] = kept;
+        }
+        now = day;
+        size -= expired;
+        return expired;
+    }
+}
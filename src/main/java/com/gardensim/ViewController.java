@@ -4,7 +4,6 @@ import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
-import javafx.beans.binding.Bindings;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
@@ -47,10 +46,15 @@ public class ViewController {
     private static final Logger log = LogManager.getLogger(ViewController.class);
 
     // ---- Images (loaded safely; null allowed so app still runs) ----
-    private static final Image ROSE_IMG   = safeImage("/images/rose.png");
-    private static final Image TOMATO_IMG = safeImage("/images/tomato.png");
-    private static final Image ORANGE_IMG = safeImage("/images/orange.png");
-    private static final Image PEST_IMG   = safeImage("/images/bug.png");
+    private static final String ROSE_IMG   = "/images/rose.png";
+    private static final String TOMATO_IMG = "/images/tomato.png";
+    private static final String ORANGE_IMG = "/images/orange.png";
+    private static final String PEST_IMG   = "/images/bug.png";
+    // Plant/pest sprites are rasterized per cell size by the shared cache (paths above)
+    private static final SpriteCache SPRITES = new SpriteCache();
+    private static final double PLANT_FILL = 0.8;   // plant sprite side relative to the cell
+    private static final int PEST_SIDE = 28;        // pest sprite side in px
+
     private static final Image SUNNY_IMG  = safeImage("/images/sunny.png");
     private static final Image RAINY_IMG  = safeImage("/images/rain.png");
 
@@ -87,12 +91,27 @@ public class ViewController {
     // ---- State ----
     private int day = 1;
 
-    /** map for pests -> their image views */
+    /** map for pests -> their image views (pooled pests keep theirs for reuse) */
     public static final Map<Pest, ImageView> pestImageViewMap = new HashMap<>();
 
     /** occupied plant cells keyed by "row,col" */
     public static final Set<String> occupiedCells = new HashSet<>();
 
+    /** cell containers indexed [row][col]; filled by populateEmptyCells */
+    private StackPane[][] cells;
+
+    /** current plant sprite side in px (all cells share one size) */
+    private int plantSide = 1;
+
+    // ---- Recycling (keeps day stepping from allocating per spawn) ----
+    private final Random random = new Random();
+
+    /** retired pests; each keeps its own ImageView in pestImageViewMap */
+    private final Deque<Pest> pestPool = new ArrayDeque<>();
+
+    /** retired plant overlays, unbound and detached */
+    private final Deque<ImageView> plantViewPool = new ArrayDeque<>();
+
     // ----------------------------------------------------------------
     // Lifecycle
     // ----------------------------------------------------------------
@@ -115,12 +134,13 @@ public class ViewController {
         int rows = 7, cols = 8;
         lockGridToUniformCells(rows, cols);
         populateEmptyCells(rows, cols);
+        watchCellSize();
 
         userInfoLabel.setText("   Today is Day-" + day);
         setWeatherSunny();
         if (roseButton != null) roseButton.setSelected(true);
 
-        if (ROSE_IMG == null) log.warn("Missing /images/rose.png");
+        if (ViewController.class.getResource(ROSE_IMG) == null) log.warn("Missing /images/rose.png");
         else log.info("rose.png loaded OK");
 
         logBoth("Garden GUI initialized (background-only grid).");
@@ -162,6 +182,10 @@ public class ViewController {
 
     // Create or get the cell container at (row,col). We use a StackPane that fills the grid track.
     private StackPane getCellBox(int row, int col) {
+        if (cells != null && row < cells.length && col < cells[row].length && cells[row][col] != null) {
+            return cells[row][col];
+        }
+
         for (Node n : gardenGrid.getChildren()) {
             // Skip the grid-lines Group or any non-cell nodes
             if (!(n instanceof StackPane)) continue;
@@ -184,22 +208,56 @@ public class ViewController {
         return cell;
     }
 
-    // Add an image centered in a cell and bind its size (never affects layout)
-    private ImageView addPlantImageToCell(StackPane container, Image img) {
-        ImageView iv = new ImageView(img);
-        iv.setPreserveRatio(true);
-        iv.setSmooth(true);
-        iv.setCache(true);
-        iv.setMouseTransparent(true);
-        var side = Bindings.min(container.widthProperty(), container.heightProperty());
-        iv.fitWidthProperty().bind(side.multiply(0.8));
-        iv.fitHeightProperty().bind(side.multiply(0.8));
+    // Add a pre-scaled sprite centered in a cell (shown 1:1, never affects layout)
+    private ImageView addPlantImageToCell(StackPane container, String imgPath) {
+        ImageView iv = plantViewPool.poll();
+        if (iv == null) {
+            iv = new ImageView();
+            iv.setCache(true);
+            iv.setMouseTransparent(true);
+        }
+        iv.setUserData(imgPath);
+        iv.setImage(SPRITES.get(imgPath, plantSide));
         StackPane.setAlignment(iv, javafx.geometry.Pos.CENTER);
         container.getChildren().add(iv);
         iv.toFront();
         return iv;
     }
 
+    // Detach a plant overlay and keep it for the next planting
+    private void releasePlantView(ImageView iv) {
+        if (iv.getParent() instanceof Pane cell) cell.getChildren().remove(iv);
+        iv.setUserData(null);
+        iv.setImage(null);
+        plantViewPool.push(iv);
+    }
+
+    // Reuse a retired pest (and its ImageView) or create a fresh pair
+    private Pest acquirePest(int row, int col) {
+        Pest pest = pestPool.poll();
+        if (pest == null) {
+            pest = new Pest(row, col, 0);
+            ImageView pestView = new ImageView(SPRITES.get(PEST_IMG, PEST_SIDE));
+            pestView.setMouseTransparent(true);
+            pestImageViewMap.put(pest, pestView);
+        } else {
+            pest.setRow(row);
+            pest.setCol(col);
+            pest.setNumPests(0);
+            pest.setPlantFood(null);
+        }
+        return pest;
+    }
+
+    // Detach a pest's view and return the pair to the pool (caller removes it from Pest.pests)
+    private void releasePest(Pest pest) {
+        ImageView pestView = pestImageViewMap.get(pest);
+        if (pestView != null && pestView.getParent() instanceof Pane cell) {
+            cell.getChildren().remove(pestView);
+        }
+        pestPool.push(pest);
+    }
+
     // ----------------------------------------------------------------
     // Plant methods
     // ----------------------------------------------------------------
@@ -301,19 +359,11 @@ public class ViewController {
 
     private void removePestsImmediately() {
         Platform.runLater(() -> {
-            int removed = 0;
-            List<Pest> toRemove = new ArrayList<>();
-            for (Pest pest : Pest.pests) {
-                ImageView pestView = pestImageViewMap.get(pest);
-                if (pestView != null) {
-                    Pane cell = (Pane) pestView.getParent();
-                    cell.getChildren().remove(pestView);
-                    toRemove.add(pest);
-                    pestImageViewMap.remove(pest);
-                    removed++;
-                }
+            int removed = Pest.pests.size();
+            for (int i = 0; i < removed; i++) {
+                releasePest(Pest.pests.get(i));
             }
-            Pest.pests.removeAll(toRemove);
+            Pest.pests.clear();
             logBoth("Pesticide removed " + removed + " pests.");
         });
     }
@@ -380,99 +430,80 @@ public class ViewController {
     }
 
     private void addPestsToCells() {
-        Random random = new Random();
         int spawned = 0;
 
         for (String key : occupiedCells) {
             if (random.nextDouble() < PEST_SPAWN_PROB) {
-                String[] parts = key.split(",");
-                int row = Integer.parseInt(parts[0]);
-                int col = Integer.parseInt(parts[1]);
+                int comma = key.indexOf(',');
+                int row = parseCellIndex(key, 0, comma);
+                int col = parseCellIndex(key, comma + 1, key.length());
 
                 Pane cell = getCellBox(row, col);   // StackPane
-                ImageView pestView = new ImageView(PEST_IMG);
-                pestView.setFitWidth(28);
-                pestView.setFitHeight(28);
-                pestView.setMouseTransparent(true);
+                Pest pest = acquirePest(row, col);
+                ImageView pestView = pestImageViewMap.get(pest);
                 cell.getChildren().add(pestView);
                 pestView.toFront();
-
-                Pest pest = new Pest(row, col, 0);
-                pestImageViewMap.put(pest, pestView);
                 Pest.pests.add(pest);
 
-                for (Plant plant : Plant.plantsList) {
+                for (int i = 0, n = Plant.plantsList.size(); i < n; i++) {
+                    Plant plant = Plant.plantsList.get(i);
                     if (plant.getRow() == row && plant.getCol() == col) {
                         plant.setNumPests(plant.getNumPests() + 1);
                     }
                 }
                 spawned++;
-                logBoth("Pest spawned at (" + row + "," + col + ").");
+                log.debug("Pest spawned at ({},{}).", row, col);
             }
         }
 
         if (spawned == 0) logBoth("No new pests today.");
+        else logBoth(spawned + " pest(s) spawned.");
     }
 
     private void pestControl() {
-        List<Pest> toRemove = new ArrayList<>();
-        Random ran = new Random();
         int removed = 0;
 
-        for (Pest pest : Pest.pests) {
-            if (ran.nextInt(8) != 1) { // remove most pests
-                ImageView pestView = pestImageViewMap.get(pest);
-                if (pestView != null) {
-                    Pane cell = (Pane) pestView.getParent();
-                    cell.getChildren().remove(pestView);
-                    pestImageViewMap.remove(pest);
-                    toRemove.add(pest);
-                    removed++;
-                }
+        for (Iterator<Pest> it = Pest.pests.iterator(); it.hasNext(); ) {
+            Pest pest = it.next();
+            if (random.nextInt(8) != 1) { // remove most pests
+                releasePest(pest);
+                it.remove();
+                removed++;
             }
         }
-        Pest.pests.removeAll(toRemove);
         if (removed > 0) logBoth("Pest control removed " + removed + " pests.");
     }
 
     private void pestKillPlant() {
         Runnable task = () -> {
-            List<Plant> plantsToRemove = new ArrayList<>();
-            List<Pest> pestsToRemove = new ArrayList<>();
             int plantsKilled = 0;
 
-            for (Plant plant : Plant.plantsList) {
+            for (Iterator<Plant> it = Plant.plantsList.iterator(); it.hasNext(); ) {
+                Plant plant = it.next();
                 int row = plant.getRow();
                 int col = plant.getCol();
 
                 // Kill only if a pest currently exists in this cell
-                boolean pestHere = Pest.pests.stream().anyMatch(p -> p.getRow() == row && p.getCol() == col);
-                if (!pestHere) continue;
+                if (!hasPestAt(row, col)) continue;
 
-                String key = row + "," + col;
-                ImageView plantView = Plant.plantImageViewMap.get(plant);
+                ImageView plantView = Plant.plantImageViewMap.remove(plant);
                 if (plantView != null) {
-                    Pane cell = (Pane) plantView.getParent();
-                    cell.getChildren().remove(plantView);
-                    Plant.plantImageViewMap.remove(plant);
-                    occupiedCells.remove(key);
-                    plantsToRemove.add(plant);
+                    releasePlantView(plantView);
+                    occupiedCells.remove(row + "," + col);
+                    it.remove();
                     plantsKilled++;
 
                     // Remove pests in that same cell (visual + model)
-                    for (Pest pest : new ArrayList<>(Pest.pests)) {
+                    for (int i = Pest.pests.size() - 1; i >= 0; i--) {
+                        Pest pest = Pest.pests.get(i);
                         if (pest.getRow() == row && pest.getCol() == col) {
-                            ImageView pestView = pestImageViewMap.get(pest);
-                            if (pestView != null) cell.getChildren().remove(pestView);
-                            pestImageViewMap.remove(pest);
-                            pestsToRemove.add(pest);
+                            releasePest(pest);
+                            Pest.pests.remove(i);
                         }
                     }
                 }
             }
 
-            Plant.plantsList.removeAll(plantsToRemove);
-            Pest.pests.removeAll(pestsToRemove);
             if (plantsKilled > 0) logBoth(plantsKilled + " plant(s) died from pests.");
         };
 
@@ -483,6 +514,23 @@ public class ViewController {
         }
     }
 
+    private static boolean hasPestAt(int row, int col) {
+        for (int i = 0, n = Pest.pests.size(); i < n; i++) {
+            Pest p = Pest.pests.get(i);
+            if (p.getRow() == row && p.getCol() == col) return true;
+        }
+        return false;
+    }
+
+    // Parse one half of a "row,col" key without splitting (no temporary strings)
+    private static int parseCellIndex(String key, int from, int to) {
+        int v = 0;
+        for (int i = from; i < to; i++) {
+            v = v * 10 + (key.charAt(i) - '0');
+        }
+        return v;
+    }
+
     // ----------------------------------------------------------------
     // Finish
     // ----------------------------------------------------------------
@@ -519,6 +567,24 @@ public class ViewController {
         if (logArea != null) Platform.runLater(() -> logArea.appendText(msg + "\n"));
     }
 
+    /**
+     * Re-rasterize plant sprites once whenever the (uniform) cell size changes,
+     * then swap the new image into every live plant view.
+     */
+    private void watchCellSize() {
+        StackPane probe = cells[0][0];
+        javafx.beans.value.ChangeListener<Number> onResize = (obs, oldV, newV) -> {
+            int side = (int) Math.floor(Math.min(probe.getWidth(), probe.getHeight()) * PLANT_FILL);
+            if (side < 1 || side == plantSide) return;
+            plantSide = side;
+            for (ImageView iv : Plant.plantImageViewMap.values()) {
+                if (iv.getUserData() instanceof String path) iv.setImage(SPRITES.get(path, side));
+            }
+        };
+        probe.widthProperty().addListener(onResize);
+        probe.heightProperty().addListener(onResize);
+    }
+
     /**
      * Force equal-sized rows/cols via percent constraints so content never
      * warps the grid. Use this instead of per-cell filler nodes.
@@ -548,6 +614,7 @@ public class ViewController {
     /** Create transparent StackPane containers in every grid cell (7x8). */
     private void populateEmptyCells(int rows, int cols) {
         gardenGrid.getChildren().removeIf(n -> n instanceof StackPane); // clean any old cells
+        cells = new StackPane[rows][cols];
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
                 StackPane cell = new StackPane();
@@ -559,6 +626,7 @@ public class ViewController {
                 GridPane.setHgrow(cell, Priority.ALWAYS);
                 GridPane.setVgrow(cell, Priority.ALWAYS);
                 gardenGrid.add(cell, c, r); // NOTE: (col, row)
+                cells[r][c] = cell;
             }
         }
     }
@@ -0,0 +1,97 @@
+package com.gardensim;
+
+import java.util.Arrays;
+
+/**
+ * A per-cell weather value (rainfall units or °F) over the garden grid,
+ * stored row-major in a primitive array. Fields are mutable so a runner can
+ * refill the same instance every day; all fills are plain loops over the
+ * array that the JIT can auto-vectorize.
+ */
+public class WeatherField {
+    private final int rows;
+    private final int cols;
+    private final int[] values;
+
+    public WeatherField(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Field needs at least one cell, got " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.values = new int[rows * cols];
+    }
+
+    public static WeatherField uniform(int rows, int cols, int value) {
+        return new WeatherField(rows, cols).fillUniform(value);
+    }
+
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+
+    /** Value at (row, col); out-of-range coordinates are clamped to the edge. */
+    public int get(int row, int col) {
+        int r = Math.max(0, Math.min(rows - 1, row));
+        int c = Math.max(0, Math.min(cols - 1, col));
+        return values[r * cols + c];
+    }
+
+    /** Row-major backing array (length rows * cols); read-only by convention. */
+    int[] values() {
+        return values;
+    }
+
+    /** Rounded mean over all cells. */
+    public int mean() {
+        long sum = 0;
+        for (int v : values) sum += v;
+        return (int) Math.round((double) sum / values.length);
+    }
+
+    public WeatherField fillUniform(int value) {
+        Arrays.fill(values, value);
+        return this;
+    }
+
+    /**
+     * Linear gradient from {@code from} to {@code to}, across columns
+     * (west to east) or down rows (north to south).
+     */
+    public WeatherField fillGradient(int from, int to, boolean acrossColumns) {
+        int steps = (acrossColumns ? cols : rows) - 1;
+        float delta = steps == 0 ? 0f : (float) (to - from) / steps;
+        for (int r = 0; r < rows; r++) {
+            int base = r * cols;
+            for (int c = 0; c < cols; c++) {
+                values[base + c] = Math.round(from + delta * (acrossColumns ? c : r));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Storm cell: {@code peak} at the center, falling off linearly to
+     * {@code base} at {@code radius} cells away (and beyond).
+     */
+    public WeatherField fillStorm(int base, int peak, int centerRow, int centerCol, float radius) {
+        float r2max = Math.max(radius, 1e-3f) * Math.max(radius, 1e-3f);
+        float span = peak - base;
+        for (int r = 0; r < rows; r++) {
+            float dr = r - centerRow;
+            int rowBase = r * cols;
+            for (int c = 0; c < cols; c++) {
+                float dc = c - centerCol;
+                float d2 = dr * dr + dc * dc;
+                // linear falloff: 1 at the center, 0 at radius and beyond
+                float w = Math.max(0f, 1f - (float) Math.sqrt(d2 / r2max));
+                values[rowBase + c] = base + Math.round(span * w);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "WeatherField{" + rows + "x" + cols + ", mean=" + mean() + '}';
+    }
+}
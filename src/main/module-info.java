@@ -2,6 +2,12 @@ module com.gardensim {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.logging;
+    requires java.management;
+    requires jdk.management;
+    requires jdk.jfr;
+    requires jdk.httpserver;
+    requires java.net.http;
+    requires java.desktop;
     requires org.apache.logging.log4j;
     requires org.json;
 
@@ -0,0 +1,77 @@
+package com.gardensim;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The headless day tick of {@link GardenSimulator} ({@link GardenSimulator#randomDay},
+ * i.e. {@link RandomWeather#next} + {@link GardenSimulatorAPI#applyDay}) must
+ * not allocate once warmed up. Allocation is read from the thread's
+ * allocated-bytes counter around a long run of days; the limit of 1 byte per
+ * tick tolerates the odd allocation after a JIT deoptimisation, but not one
+ * object per tick.
+ *
+ * The tick runs at the shipped root level (INFO), not the tests' WARN, so a
+ * log statement left at INFO on the tick path fails the test.
+ */
+class DayTickAllocationTest {
+    private static final int WARMUP_DAYS = 20_000;
+    private static final int DAYS = 20_000;
+    private static final double MAX_BYTES_PER_TICK = 1;
+    /** Measurements taken; the lowest counts, so one JIT event cannot fail the test. */
+    private static final int ATTEMPTS = 3;
+
+    @Test
+    void uniformWeatherTickDoesNotAllocate() {
+        assertSteadyStateTickDoesNotAllocate("uniform", 50, 95);
+    }
+
+    @Test
+    void fieldWeatherTickDoesNotAllocate() {
+        assertSteadyStateTickDoesNotAllocate("storm", 50, 95);
+    }
+
+    /** Cold days go through the heating on every tick. */
+    @Test
+    void coldWeatherTickDoesNotAllocate() {
+        assertSteadyStateTickDoesNotAllocate("uniform", 20, 60);
+    }
+
+    private static void assertSteadyStateTickDoesNotAllocate(String weatherMode, int minTemperature, int maxTemperature) {
+        assumeTrue(GardenMetrics.currentThreadAllocatedBytes() >= 0, "JVM cannot report per-thread allocation");
+
+        GardenSimulatorAPI api = new GardenSimulatorAPI();
+        api.setMetrics(new GardenMetrics());
+        api.initializeGarden("/config.json");
+        api.setSeed(42);
+        // as GardenSimulator builds it with -Dweather=<mode>
+        RandomWeather weather = new RandomWeather(new Random(42), api.getKnownParasiteNames()).pestProb(0.3)
+                .tempRange(minTemperature, maxTemperature).fields(weatherMode, api.getGridRows(), api.getGridCols());
+        DayEvents today = new DayEvents();
+
+        Level testLevel = LogManager.getRootLogger().getLevel();
+        Configurator.setRootLevel(Level.INFO);
+        try {
+            int day = 0;
+            for (int i = 0; i < WARMUP_DAYS; i++) GardenSimulator.randomDay(api, weather, today, ++day);
+
+            double best = Double.MAX_VALUE;
+            for (int attempt = 0; attempt < ATTEMPTS && best > MAX_BYTES_PER_TICK; attempt++) {
+                long before = GardenMetrics.currentThreadAllocatedBytes();
+                for (int i = 0; i < DAYS; i++) GardenSimulator.randomDay(api, weather, today, ++day);
+                best = Math.min(best, (double) (GardenMetrics.currentThreadAllocatedBytes() - before) / DAYS);
+            }
+            assertTrue(best <= MAX_BYTES_PER_TICK, String.format("steady-state %s tick allocates %.2f byte(s), limit %.0f",
+                    weatherMode, best, MAX_BYTES_PER_TICK));
+        } finally {
+            Configurator.setRootLevel(testLevel);
+        }
+    }
+}
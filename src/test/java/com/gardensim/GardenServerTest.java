@@ -0,0 +1,157 @@
+package com.gardensim;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The HTTP contract of {@link GardenServer}: status codes, config names,
+ * event parsing, and that concurrent batches for one garden are applied one
+ * after another.
+ */
+class GardenServerTest {
+    private GardenServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new GardenServer(0, 4);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    @Test
+    void createsGardenFromDefaultConfig() throws Exception {
+        HttpResponse<String> r = post("/gardens", "");
+        assertEquals(201, r.statusCode());
+        JSONObject body = new JSONObject(r.body());
+        assertTrue(body.getString("id").startsWith("g"));
+        assertTrue(body.getInt("plants") > 0);
+
+        HttpResponse<String> list = get("/gardens");
+        assertEquals(200, list.statusCode());
+        assertEquals(body.getString("id"), new JSONObject(list.body()).getJSONArray("gardens").getString(0));
+    }
+
+    @Test
+    void rejectsUnknownConfigsAndFilePaths() throws Exception {
+        for (String config : List.of("/missing.json", "/etc/passwd", "../pom.xml", "/../config.json",
+                "pom.xml", "x".repeat(1000) + ".json")) {
+            HttpResponse<String> r = post("/gardens", config);
+            assertEquals(400, r.statusCode(), config);
+            assertTrue(new JSONObject(r.body()).has("error"), config);
+        }
+        assertEquals(0, new JSONObject(get("/gardens").body()).getJSONArray("gardens").length());
+    }
+
+    @Test
+    void appliesEventBatch() throws Exception {
+        String id = create();
+        long before = version(id);
+
+        HttpResponse<String> r = post("/gardens/" + id + "/events", "rain 5\n# comment\n\ntemperature 70\npesticide\n");
+        assertEquals(200, r.statusCode());
+        assertEquals(3, new JSONObject(r.body()).getInt("applied"));
+        assertTrue(version(id) > before);
+    }
+
+    @Test
+    void rejectsBadEventLines() throws Exception {
+        String id = create();
+        long before = version(id);
+        for (String line : List.of("rain lots", "hail 3", "temperature", "snow")) {
+            HttpResponse<String> r = post("/gardens/" + id + "/events", line);
+            assertEquals(400, r.statusCode(), line);
+        }
+        assertEquals(before, version(id), "a rejected batch must not change the garden");
+    }
+
+    @Test
+    void serializesConcurrentBatches() throws Exception {
+        String id = create();
+        long before = version(id);
+        post("/gardens/" + id + "/events", "rain 1");
+        long perBatch = version(id) - before;
+        assertTrue(perBatch > 0);
+
+        int batches = 64;
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < batches; i++) {
+                responses.add(clients.submit(() -> post("/gardens/" + id + "/events", "rain 1\ntemperature 20")));
+            }
+            for (Future<HttpResponse<String>> f : responses) assertEquals(200, f.get().statusCode());
+        } finally {
+            clients.shutdownNow();
+        }
+        assertEquals(before + perBatch * (batches + 1), version(id));
+    }
+
+    @Test
+    void unknownGardenRouteAndMethod() throws Exception {
+        assertEquals(404, get("/gardens/nope/status").statusCode());
+        assertEquals(404, post("/gardens/nope/events", "rain 1").statusCode());
+
+        String id = create();
+        assertEquals(404, get("/gardens/" + id + "/unknown").statusCode());
+        assertEquals(404, get("/gardens/" + id + "/status/extra").statusCode());
+        assertEquals(404, post("/gardensXYZ", "").statusCode());
+        assertEquals(1, new JSONObject(get("/gardens").body()).getJSONArray("gardens").length());
+        HttpRequest put = HttpRequest.newBuilder(uri("/gardens")).PUT(HttpRequest.BodyPublishers.noBody()).build();
+        assertEquals(405, client.send(put, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    @Test
+    void deletesGarden() throws Exception {
+        String id = create();
+        HttpRequest delete = HttpRequest.newBuilder(uri("/gardens/" + id)).DELETE().build();
+        assertEquals(200, client.send(delete, HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(404, get("/gardens/" + id + "/status").statusCode());
+    }
+
+    private String create() throws Exception {
+        HttpResponse<String> r = post("/gardens", "/config.json");
+        assertEquals(201, r.statusCode());
+        return new JSONObject(r.body()).getString("id");
+    }
+
+    private long version(String id) throws Exception {
+        HttpResponse<String> r = get("/gardens/" + id + "/status");
+        assertEquals(200, r.statusCode());
+        return new JSONObject(r.body()).getLong("version");
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+}